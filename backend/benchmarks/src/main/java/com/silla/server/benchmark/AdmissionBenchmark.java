@@ -0,0 +1,74 @@
+package com.silla.server.benchmark;
+
+import com.silla.server.model.Booking;
+import com.silla.server.service.BookingAdmissionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BookingAdmissionService.admit (POST /api/bookings) from four threads at
+ * once, every call on a free slot. With {@code barbers} = 1 all threads queue
+ * on the same barber+date lock; with 4 consecutive calls go to different
+ * barbers, so the throughput of the two runs shows how far admissions
+ * scale when they do not share a lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class AdmissionBenchmark {
+
+    private static final int SLOTS = 20;
+
+    @Param({ "1", "4" })
+    public int barbers;
+
+    private ConfigurableApplicationContext context;
+    private BookingAdmissionService bookingAdmissionService;
+    private List<String> barberIds;
+    private LocalDate first;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("admission" + barbers);
+        bookingAdmissionService = context.getBean(BookingAdmissionService.class);
+        barberIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM barbers ORDER BY id", String.class)
+                .subList(0, barbers);
+        first = LocalDate.now().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Booking admit() {
+        long n = sequence.getAndIncrement();
+        long perBarber = n / barbers;
+        Booking booking = new Booking();
+        booking.setBarber(barberIds.get((int) (n % barbers)));
+        booking.setService("cut");
+        booking.setDate(first.plusDays(perBarber / SLOTS));
+        booking.setTime(LocalTime.of(9, 30).plusMinutes(30 * (perBarber % SLOTS)));
+        booking.setName("Name" + n);
+        booking.setSurname("Surname");
+        booking.setEmail("client" + n + "@example.com");
+        booking.setPhone("3330000000");
+        booking.setPrice(30);
+        booking.setLocale("it");
+        return bookingAdmissionService.admit(booking);
+    }
+}
@@ -0,0 +1,29 @@
+package com.silla.server.benchmark;
+
+import com.silla.server.SillaServerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the real application against a private in-memory H2 database, with
+ * SQL logging, the outbox poller and mail turned off so they do not show up
+ * in the measurements.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        SpringApplication application = new SpringApplication(SillaServerApplication.class);
+        return application.run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.host=localhost",
+                "--silla.outbox.poll-interval-ms=3600000",
+                "--silla.rate-limit.enabled=false");
+    }
+}
@@ -0,0 +1,101 @@
+package com.silla.server.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic bookings for the benchmarks (and for filling a local database by
+ * hand). Days are filled backwards from today, each barber at about 70% of
+ * the 20-slot grid, the way a busy shop looks. Rows go in with JDBC batches,
+ * so the schema must already exist (start the server once, or let the
+ * benchmark context create it).
+ *
+ *   java -cp ... com.silla.server.benchmark.BenchmarkData jdbc:h2:file:./data/silla_db 100000
+ */
+public final class BenchmarkData {
+
+    public static final String[] SERVICES = { "cut", "beard", "combo", "kid" };
+    private static final double OCCUPANCY = 0.7;
+    private static final int BATCH = 1000;
+
+    private BenchmarkData() {
+    }
+
+    /** Inserts about {@code rows} bookings and returns the dates used, newest first. */
+    public static List<LocalDate> generateBookings(JdbcTemplate jdbc, List<String> barbers, int rows, long seed) {
+        return generateBookings(jdbc, barbers, rows, seed, LocalDate.now());
+    }
+
+    /** Same, filling backwards from {@code newest}. */
+    public static List<LocalDate> generateBookings(JdbcTemplate jdbc, List<String> barbers, int rows, long seed,
+            LocalDate newest) {
+        Random random = new Random(seed);
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        List<LocalDate> dates = new ArrayList<>();
+        int inserted = 0;
+        LocalDate date = newest;
+        while (inserted < rows) {
+            dates.add(date);
+            for (String barber : barbers) {
+                for (int slot = 0; slot < 20 && inserted < rows; slot++) {
+                    if (random.nextDouble() >= OCCUPANCY) {
+                        continue;
+                    }
+                    int minutes = 9 * 60 + 30 + slot * 30;
+                    String service = SERVICES[random.nextInt(SERVICES.length)];
+                    batch.add(new Object[] { barber, service, Date.valueOf(date),
+                            Time.valueOf(String.format("%02d:%02d:00", minutes / 60, minutes % 60)),
+                            "Name" + inserted, "Surname" + inserted, "customer" + inserted + "@example.com",
+                            "3330000000", "", 20 + random.nextInt(30),
+                            Timestamp.valueOf(LocalDateTime.of(date.minusDays(random.nextInt(14)),
+                                    LocalTime.of(8, 0).plusMinutes(random.nextInt(720)))) });
+                    inserted++;
+                    if (batch.size() == BATCH) {
+                        insert(jdbc, batch);
+                    }
+                }
+            }
+            date = date.minusDays(1);
+        }
+        insert(jdbc, batch);
+        return dates;
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("INSERT INTO bookings (barber, service, date, time, name, surname, email, phone, message, "
+                + "price, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkData <jdbc-url> <rows> [user] [password]");
+            System.exit(1);
+        }
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(args[0],
+                args.length > 2 ? args[2] : "sa", args.length > 3 ? args[3] : "password");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        List<String> barbers = jdbc.queryForList("SELECT id FROM barbers", String.class);
+        if (barbers.isEmpty()) {
+            System.err.println("No barbers found; start the server once to seed them");
+            System.exit(1);
+        }
+        int rows = Integer.parseInt(args[1]);
+        List<LocalDate> dates = generateBookings(jdbc, barbers, rows, System.nanoTime());
+        System.out.println("Inserted " + rows + " bookings over " + dates.size() + " days for " + barbers.size()
+                + " barbers");
+    }
+}
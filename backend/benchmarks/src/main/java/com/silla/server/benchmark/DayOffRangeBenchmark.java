@@ -0,0 +1,52 @@
+package com.silla.server.benchmark;
+
+import com.silla.server.controller.DayOffController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DayOffController.createDayOffRange closing every barber for {@code days}
+ * days. Each call uses dates no earlier call has touched, so every call
+ * inserts barbers x days rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DayOffRangeBenchmark {
+
+    @Param({ "7", "30" })
+    public int days;
+
+    private ConfigurableApplicationContext context;
+    private DayOffController dayOffController;
+    private LocalDate next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("dayoff" + days);
+        dayOffController = context.getBean(DayOffController.class);
+        next = LocalDate.now().plusYears(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> createDayOffRange() {
+        DayOffController.DayOffRangeRequest request = new DayOffController.DayOffRangeRequest();
+        request.setAllBarbers(true);
+        request.setStartDate(next);
+        request.setEndDate(next.plusDays(days - 1));
+        next = next.plusDays(days);
+        return dayOffController.createDayOffRange(request);
+    }
+}
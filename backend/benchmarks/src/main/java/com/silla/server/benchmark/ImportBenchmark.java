@@ -0,0 +1,77 @@
+package com.silla.server.benchmark;
+
+import com.silla.server.dto.ImportReport;
+import com.silla.server.service.BookingExportService;
+import com.silla.server.service.BookingImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingImportService (POST /api/bookings/import) loading {@code rows}
+ * NDJSON bookings, every slot of every barber from 2019 on, into an empty
+ * bookings table. Each measured call is one whole import; the table is
+ * emptied before each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookingImportService bookingImportService;
+    private JdbcTemplate jdbc;
+    private byte[] upload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("import" + rows);
+        bookingImportService = context.getBean(BookingImportService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        List<String> barbers = jdbc.queryForList("SELECT id FROM barbers", String.class);
+        StringBuilder ndjson = new StringBuilder(rows * 200);
+        LocalDate date = LocalDate.of(2019, 1, 1);
+        for (int row = 0; row < rows; date = date.plusDays(1)) {
+            for (String barber : barbers) {
+                for (int slot = 0; slot < 20 && row < rows; slot++, row++) {
+                    int minutes = 570 + slot * 30;
+                    ndjson.append(String.format("{\"barber\":\"%s\",\"service\":\"%s\",\"date\":\"%s\",\"time\":\"%02d:%02d\","
+                            + "\"name\":\"Name%d\",\"surname\":\"Surname\",\"email\":\"client%d@example.com\",\"phone\":\"3330000000\"}\n",
+                            barber, BenchmarkData.SERVICES[row % BenchmarkData.SERVICES.length], date,
+                            minutes / 60, minutes % 60, row, row));
+                }
+            }
+        }
+        upload = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTables() {
+        jdbc.update("DELETE FROM bookings");
+        jdbc.update("DELETE FROM booking_daily_stats");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportReport importNdjson() throws IOException {
+        return bookingImportService.importBookings(new ByteArrayInputStream(upload), BookingExportService.Format.NDJSON,
+                false, false);
+    }
+}
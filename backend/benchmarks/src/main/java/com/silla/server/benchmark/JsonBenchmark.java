@@ -0,0 +1,73 @@
+package com.silla.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silla.server.model.Barber;
+import com.silla.server.model.Booking;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the Booking and Barber lists the API returns. The
+ * {@code img} param compares a barber list carrying image URLs (current)
+ * with one carrying inline Base64 portraits (legacy rows).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({ "50", "500" })
+    public int listSize;
+
+    @Param({ "url", "inline" })
+    public String img;
+
+    // Same settings as the MVC converter's mapper (JavaTimeModule, ISO dates)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Booking> bookings;
+    private List<Barber> barbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        bookings = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            bookings.add(new Booking((long) i, "lele", BenchmarkData.SERVICES[i % 4],
+                    LocalDate.now().plusDays(i % 30), LocalTime.of(9, 30).plusMinutes(30L * (i % 20)),
+                    "Name" + i, "Surname" + i, "customer" + i + "@example.com", "3330000000", "", 30,
+                    LocalDateTime.now()));
+        }
+        // ~150 KB, a typical phone portrait
+        byte[] portrait = new byte[150_000];
+        random.nextBytes(portrait);
+        String inline = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(portrait);
+        barbers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            barbers.add(new Barber("barber" + i, "Barber " + i, "team.roles.barber",
+                    "inline".equals(img) ? inline : "https://api.example.com/api/barbers/barber" + i + "/image?v=0123456789ab",
+                    "Descrizione del barbiere " + i, "Barber description " + i));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws Exception {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] serializeBarbers() throws Exception {
+        return objectMapper.writeValueAsBytes(barbers);
+    }
+}
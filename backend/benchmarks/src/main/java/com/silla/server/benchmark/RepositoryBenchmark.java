@@ -0,0 +1,54 @@
+package com.silla.server.benchmark;
+
+import com.silla.server.model.Booking;
+import com.silla.server.repository.BookingRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingRepository.findByDateAndBarber (the query behind a cold
+ * availability lookup) on H2 holding {@code rows} bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private List<String> barbers;
+    private List<LocalDate> dates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("repository" + rows);
+        bookingRepository = context.getBean(BookingRepository.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        barbers = jdbc.queryForList("SELECT id FROM barbers", String.class);
+        dates = BenchmarkData.generateBookings(jdbc, barbers, rows, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Booking> findByDateAndBarber() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return bookingRepository.findByDateAndBarber(dates.get(random.nextInt(dates.size())),
+                barbers.get(random.nextInt(barbers.size())));
+    }
+}
@@ -0,0 +1,60 @@
+package com.silla.server.benchmark;
+
+import com.silla.server.dto.SlotSuggestion;
+import com.silla.server.service.AvailabilityService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AvailabilityService.suggest (GET /api/bookings/suggestions) over a
+ * {@code days} window of a shop at 70% occupancy: the next 5 one-hour starts
+ * with anyone (found on the first days), and 4-hour starts, which are rare
+ * enough to scan the whole window. The first call reads the window into the
+ * cache, so this measures the bitmap scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionBenchmark {
+
+    @Param({ "7", "31" })
+    public int days;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilityService availabilityService;
+    private LocalDate from;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("suggestions" + days);
+        availabilityService = context.getBean(AvailabilityService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<String> barbers = jdbc.queryForList("SELECT id FROM barbers", String.class);
+        from = LocalDate.now().plusDays(1);
+        BenchmarkData.generateBookings(jdbc, barbers, barbers.size() * 14 * days, 42, from.plusDays(days - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SlotSuggestion> nextFreeHour() {
+        return availabilityService.suggest(null, from, from.plusDays(days - 1), 60, 5, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<SlotSuggestion> nextFreeFourHours() {
+        return availabilityService.suggest(null, from, from.plusDays(days - 1), 240, 5, LocalDateTime.now());
+    }
+}
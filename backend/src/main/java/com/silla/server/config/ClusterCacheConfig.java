@@ -0,0 +1,48 @@
+package com.silla.server.config;
+
+import com.silla.server.service.ClusterCoordinator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClusterCacheConfig {
+
+    // Static so the post-processor does not pull this configuration (and the coordinator) in early
+    @Bean
+    public static BeanPostProcessor clusterCacheManagerPostProcessor(ObjectProvider<ClusterCoordinator> coordinator) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof ClusterCacheManager)) {
+                    return new ClusterCacheManager(cacheManager, coordinator);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton clusterCacheSubscriber(ObjectProvider<CacheManager> cacheManagers,
+            ClusterCoordinator coordinator) {
+        return () -> cacheManagers.forEach(cacheManager -> {
+            if (cacheManager instanceof ClusterCacheManager clusterCacheManager) {
+                coordinator.subscribe(ClusterCoordinator.TOPIC_CACHE, clusterCacheManager::clearLocal);
+            }
+        });
+    }
+
+    // Keeps the cache.* meters for the wrapped Caffeine caches
+    @Bean
+    public CacheMeterBinderProvider<ClusterCacheManager.ClusterCache> clusterCacheMeterBinderProvider() {
+        CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+        return (cache, tags) -> cache.getTarget() instanceof CaffeineCache target
+                ? caffeine.getMeterBinder(target, tags) : null;
+    }
+}
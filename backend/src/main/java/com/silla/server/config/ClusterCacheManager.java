@@ -0,0 +1,160 @@
+package com.silla.server.config;
+
+import com.silla.server.service.ClusterCoordinator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the application CacheManager so every eviction (the @CacheEvict on
+ * the barber and day-off repositories) is also broadcast to the other nodes,
+ * which clear their copy of that cache. Remote clears go through
+ * {@link #clearLocal(String)} and are not broadcast again. Inside a
+ * transaction evict() and clear() wait for the commit, as the broadcasts do,
+ * so a read in between cannot put the old rows back for the whole TTL.
+ */
+public class ClusterCacheManager implements CacheManager {
+
+    private final CacheManager target;
+    private final ObjectProvider<ClusterCoordinator> coordinator;
+    private final Map<String, ClusterCache> caches = new ConcurrentHashMap<>();
+
+    public ClusterCacheManager(CacheManager target, ObjectProvider<ClusterCoordinator> coordinator) {
+        this.target = target;
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = target.getCache(name);
+        return cache == null ? null : caches.computeIfAbsent(name, n -> new ClusterCache(cache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+
+    public void clearLocal(String name) {
+        if (ClusterCoordinator.RESYNC.equals(name)) {
+            target.getCacheNames().forEach(this::clearLocal);
+            return;
+        }
+        Cache cache = target.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // Both coordinators already deliver broadcasts made in a transaction after its commit
+    private void broadcast(String name) {
+        coordinator.getObject().broadcast(ClusterCoordinator.TOPIC_CACHE, name);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public class ClusterCache implements Cache {
+
+        private final Cache target;
+
+        ClusterCache(Cache target) {
+            this.target = target;
+        }
+
+        public Cache getTarget() {
+            return target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        // Other nodes clear the whole cache; the caches are small and keys need not be serializable
+        @Override
+        public void evict(Object key) {
+            afterCommit(() -> target.evict(key));
+            broadcast(getName());
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = target.evictIfPresent(key);
+            broadcast(getName());
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            afterCommit(target::clear);
+            broadcast(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean present = target.invalidate();
+            broadcast(getName());
+            return present;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.silla.server.config;
 
 import com.silla.server.model.Barber;
 import com.silla.server.repository.BarberRepository;
+import com.silla.server.service.BarberImageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -9,9 +12,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+        private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
         @Autowired
         private BarberRepository barberRepository;
 
+        @Autowired
+        private BarberImageService barberImageService;
+
         @Override
         public void run(String... args) throws Exception {
                 // Update Lele
@@ -66,6 +74,12 @@ public class DataInitializer implements CommandLineRunner {
                                 "Young talent with a steady hand and an eye for style. The future of barbering.");
                 barberRepository.save(stefano);
 
-                System.out.println("Initialized/Updated Barbers data successfully");
+                log.info("Initialized/Updated Barbers data successfully");
+
+                // Move any Base64 portraits left in barbers.img to the image store
+                int migrated = barberImageService.migrateInlineImages();
+                if (migrated > 0) {
+                        log.info("Moved {} inline barber images to barber_images", migrated);
+                }
         }
 }
@@ -0,0 +1,84 @@
+package com.silla.server.config;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.CompositeConverter;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+/**
+ * Pattern converters for the one-line key=value log format of
+ * logback-spring.xml. Every value they write is double-quoted with
+ * backslashes, quotes and control characters escaped, so a message, a
+ * key-value or a stack trace can never end the line or forge another field.
+ */
+public final class Logfmt {
+
+    private Logfmt() {
+    }
+
+    public static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> quoted.append("\\\\");
+                case '"' -> quoted.append("\\\"");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /** {@code %quoted(...)}: the enclosed pattern, quoted. */
+    public static class Quoted extends CompositeConverter<ILoggingEvent> {
+        @Override
+        protected String transform(ILoggingEvent event, String in) {
+            return quote(in);
+        }
+    }
+
+    /** {@code %quotedMsg}: the formatted message, quoted. */
+    public static class Message extends ClassicConverter {
+        @Override
+        public String convert(ILoggingEvent event) {
+            return quote(event.getFormattedMessage());
+        }
+    }
+
+    /** {@code %quotedKvp}: the SLF4J key-values of the event, each as {@code  key="value"}. */
+    public static class KeyValues extends ClassicConverter {
+        @Override
+        public String convert(ILoggingEvent event) {
+            List<KeyValuePair> pairs = event.getKeyValuePairs();
+            if (pairs == null || pairs.isEmpty()) {
+                return "";
+            }
+            StringBuilder out = new StringBuilder();
+            for (KeyValuePair pair : pairs) {
+                out.append(' ').append(pair.key).append('=').append(quote(String.valueOf(pair.value)));
+            }
+            return out.toString();
+        }
+    }
+
+    /** {@code %quotedEx}: the stack trace folded into {@code  ex="..."}, nothing without one. */
+    public static class StackTrace extends ThrowableProxyConverter {
+        @Override
+        public String convert(ILoggingEvent event) {
+            String trace = super.convert(event);
+            return trace.isEmpty() ? "" : " ex=" + quote(trace.stripTrailing());
+        }
+    }
+}
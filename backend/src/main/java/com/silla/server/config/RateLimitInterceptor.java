@@ -0,0 +1,51 @@
+package com.silla.server.config;
+
+import com.silla.server.service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Applies the path-bound rate limit rules per client IP before the handler
+ * runs, so a rejected request costs no DB, BCrypt or mail work. The IP is
+ * the one Tomcat's RemoteIpValve resolved: X-Forwarded-For counts only when
+ * sent by a trusted proxy (server.tomcat.remoteip.internal-proxies).
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitProperties.Rule> entry : properties.getRules().entrySet()) {
+            RateLimitProperties.Rule rule = entry.getValue();
+            if (rule.getPath() == null || !rule.getPath().equals(path)
+                    || !rule.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            long retryAfter = rateLimiter.acquire(entry.getKey(), request.getRemoteAddr());
+            if (retryAfter > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Too many requests\"}");
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,94 @@
+package com.silla.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * silla.rate-limit.* settings. Each rule is a token bucket of {@code capacity}
+ * requests refilled at {@code refillPerMinute}. Rules with a path are applied
+ * per client IP by RateLimitInterceptor; rules without one are used by the
+ * controllers with their own key (e.g. the email being logged in).
+ */
+@Component
+@ConfigurationProperties(prefix = "silla.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxKeys = 100_000;
+    private int idleExpiryMinutes = 15;
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public int getIdleExpiryMinutes() {
+        return idleExpiryMinutes;
+    }
+
+    public void setIdleExpiryMinutes(int idleExpiryMinutes) {
+        this.idleExpiryMinutes = idleExpiryMinutes;
+    }
+
+    public Map<String, Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+        private String method = "POST";
+        private String path;
+        private int capacity = 10;
+        private int refillPerMinute = 10;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
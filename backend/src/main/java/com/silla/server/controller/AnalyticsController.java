@@ -0,0 +1,63 @@
+package com.silla.server.controller;
+
+import com.silla.server.dto.AnalyticsReport;
+import com.silla.server.service.AnalyticsService;
+import com.silla.server.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private static final int MAX_DAYS = 732;
+
+    // Revenue, bookings and utilization between two dates (default: this month up to today)
+    @GetMapping
+    public AnalyticsReport getReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        requireAdmin(authorization);
+        AnalyticsService.Granularity period;
+        try {
+            period = AnalyticsService.Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown granularity: " + granularity);
+        }
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.withDayOfMonth(1) : from;
+        if (start.isAfter(end) || start.plusDays(MAX_DAYS).isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "from must be before to, at most " + MAX_DAYS + " days apart");
+        }
+        return analyticsService.report(start, end, period);
+    }
+
+    // Runs the nightly reconciliation now, e.g. after editing bookings in the database
+    @PostMapping("/reconcile")
+    public Map<String, Integer> reconcile(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        requireAdmin(authorization);
+        return Map.of("fixed", analyticsService.reconcile());
+    }
+
+    private void requireAdmin(String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Admin login required");
+        }
+    }
+}
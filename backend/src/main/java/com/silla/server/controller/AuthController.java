@@ -2,6 +2,9 @@ package com.silla.server.controller;
 
 import com.silla.server.model.User;
 import com.silla.server.service.AuthService;
+import com.silla.server.service.NotificationTemplates;
+import com.silla.server.service.RateLimiter;
+import com.silla.server.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,11 +19,25 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody User user) {
+    public ResponseEntity<?> register(@RequestBody User user,
+            @RequestHeader(value = "Accept-Language", required = false) String acceptLanguage) {
+        user.setLocale(NotificationTemplates.locale(user.getLocale() != null ? user.getLocale() : acceptLanguage));
+        // Per account as well as per IP: each attempt costs a BCrypt hash and may send a welcome email
+        long retryAfter = rateLimiter.acquire("register-email",
+                user.getEmail() == null ? null : user.getEmail().toLowerCase());
+        if (retryAfter > 0) {
+            return RateLimiter.tooManyRequests(retryAfter);
+        }
         try {
             User newUser = authService.register(user);
-            return ResponseEntity.ok(newUser);
+            return ResponseEntity.ok(tokenService.issue(newUser));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -31,16 +48,37 @@ public class AuthController {
         String email = credentials.get("email");
         String password = credentials.get("password");
 
+        // Per account as well as per IP (interceptor), against guessing spread over many addresses
+        long retryAfter = rateLimiter.acquire("login-email", email == null ? null : email.toLowerCase());
+        if (retryAfter > 0) {
+            return RateLimiter.tooManyRequests(retryAfter);
+        }
+
         Optional<User> user = authService.login(email, password);
         if (user.isPresent()) {
-            return ResponseEntity.ok(user.get());
+            return ResponseEntity.ok(tokenService.issue(user.get()));
         } else {
             return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
         }
     }
 
+    // Restores a session from a stored token: signature check and a primary-key lookup, no BCrypt
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        return tokenService.verifyHeader(authorization)
+                .flatMap(claims -> Optional.ofNullable(claims.getUserId())
+                        .flatMap(authService::findUser)
+                        .map(user -> TokenService.session(user, claims)))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(401).body(Map.of("error", "Invalid or expired token")));
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteAccount(@PathVariable Long id) {
+    public ResponseEntity<?> deleteAccount(@PathVariable Long id,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (tokenService.verifyHeader(authorization).filter(claims -> id.equals(claims.getUserId())).isEmpty()) {
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid or expired token"));
+        }
         try {
             authService.deleteAccount(id);
             return ResponseEntity.ok(Map.of("message", "Account deleted successfully"));
@@ -2,10 +2,20 @@ package com.silla.server.controller;
 
 import com.silla.server.model.Barber;
 import com.silla.server.repository.BarberRepository;
+import com.silla.server.service.BarberImageService;
+import com.silla.server.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/barbers")
@@ -14,22 +24,96 @@ public class BarberController {
     @Autowired
     private BarberRepository barberRepository;
 
+    @Autowired
+    private BarberImageService barberImageService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private static final ResponseEntity<?> UNAUTHORIZED =
+            ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Admin login required"));
+
     @GetMapping
-    public List<Barber> getAllBarbers() {
-        return barberRepository.findAll();
+    public ResponseEntity<List<Barber>> getAllBarbers() {
+        List<Barber> barbers = barberRepository.findAll().stream()
+                .map(this::withAbsoluteImageUrl)
+                .collect(Collectors.toList());
+        // Always revalidate; the ETag filter answers unchanged lists with 304
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(barbers);
     }
 
     @PostMapping
-    public Barber createBarber(@RequestBody Barber barber) {
+    public ResponseEntity<?> createBarber(@RequestBody Barber barber,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
         // Simple ID generation if not provided (sluggify name)
         if (barber.getId() == null || barber.getId().isEmpty()) {
             barber.setId(barber.getName().toLowerCase().replaceAll("\\s+", "-"));
         }
-        return barberRepository.save(barber);
+        try {
+            barber.setImg(barberImageService.storeIfInline(barber.getId(), barber.getImg()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.ok(withAbsoluteImageUrl(barberRepository.save(barber)));
     }
 
     @DeleteMapping("/{id}")
-    public void deleteBarber(@PathVariable String id) {
+    public ResponseEntity<?> deleteBarber(@PathVariable String id,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
         barberRepository.deleteById(id);
+        barberImageService.delete(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/{id}/image")
+    public ResponseEntity<byte[]> getImage(@PathVariable String id, @RequestParam(required = false) Integer w,
+            @RequestParam(required = false) String v) {
+        // If-None-Match / If-Modified-Since are answered with 304 by Spring from the headers below
+        return barberImageService.load(id, w, v)
+                .map(image -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(image.getContentType()))
+                        .header("X-Content-Type-Options", "nosniff")
+                        .eTag(image.getEtag())
+                        .lastModified(image.getLastModified())
+                        // Cached for good only under the content hash (?v=) of the bytes sent
+                        .cacheControl(v != null && !v.isBlank() && image.getEtag().startsWith(v)
+                                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic() : CacheControl.noCache())
+                        .body(image.getData()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // The Content-Type of the upload is ignored: the stored type is detected from the bytes
+    @PutMapping("/{id}/image")
+    public ResponseEntity<?> uploadImage(@PathVariable String id, @RequestBody byte[] data,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
+        return barberRepository.findById(id)
+                .<ResponseEntity<?>>map(barber -> {
+                    try {
+                        barber.setImg(barberImageService.store(id, data));
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                    }
+                    return ResponseEntity.ok(withAbsoluteImageUrl(barberRepository.save(barber)));
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Image URLs are stored relative to the API; the frontend is served from another origin
+    private Barber withAbsoluteImageUrl(Barber barber) {
+        if (!BarberImageService.isImagePath(barber.getImg())) {
+            return barber;
+        }
+        String base = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        return new Barber(barber.getId(), barber.getName(), barber.getRoleKey(), base + barber.getImg(),
+                barber.getDescriptionIt(), barber.getDescriptionEn());
     }
 }
@@ -1,15 +1,46 @@
 package com.silla.server.controller;
 
+import com.silla.server.dto.BookingPage;
+import com.silla.server.dto.BookingSummary;
+import com.silla.server.dto.ImportReport;
+import com.silla.server.dto.ReservedSlot;
+import com.silla.server.dto.SlotAvailability;
+import com.silla.server.dto.SlotEvent;
+import com.silla.server.dto.SlotSuggestion;
 import com.silla.server.model.Booking;
+import com.silla.server.model.ServiceOffering;
+import com.silla.server.repository.ArchivedBookingRepository;
 import com.silla.server.repository.BookingRepository;
-import com.silla.server.service.NotificationService;
+import com.silla.server.service.ArchiveService;
+import com.silla.server.service.AvailabilityService;
+import com.silla.server.service.BookingAdmissionService;
+import com.silla.server.service.BookingExportService;
+import com.silla.server.service.BookingImportService;
+import com.silla.server.service.NotificationTemplates;
+import com.silla.server.service.RateLimiter;
+import com.silla.server.service.ServiceCatalog;
+import com.silla.server.service.SlotEventBroadcaster;
+import com.silla.server.service.SlotUnavailableException;
+import com.silla.server.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -19,39 +50,264 @@ public class BookingController {
     private BookingRepository bookingRepository;
 
     @Autowired
-    private NotificationService notificationService;
+    private ArchivedBookingRepository archivedBookingRepository;
 
-    @GetMapping
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll(Sort.by(Sort.Direction.DESC, "timestamp"));
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingAdmissionService bookingAdmissionService;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private SlotEventBroadcaster slotEventBroadcaster;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private static final ResponseEntity<?> UNAUTHORIZED =
+            ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Admin login required"));
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SUGGESTION_DAYS = 62;
+    private static final int MAX_SUGGESTIONS = 50;
+
+    // Newest first, as both keyset queries order them
+    private static final Comparator<BookingSummary> PAGE_ORDER = Comparator
+            .comparing(BookingSummary::getTimestamp, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(BookingSummary::getId)
+            .reversed();
+
+    // The admin booking list; there is no unpaged variant, follow nextCursor for more
+    @GetMapping("/page")
+    public ResponseEntity<?> getBookingPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String barber,
+            @RequestParam(required = false) String service,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
+        BookingPage.Cursor after;
+        try {
+            after = cursor == null ? null : BookingPage.decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to know whether another page follows
+        List<BookingSummary> rows = bookingRepository.findPage(barber, service, from, to,
+                after == null ? null : after.getTimestamp(), after == null ? null : after.getId(), size + 1);
+        if (includeArchived) {
+            // Ids are kept when archiving, so one cursor pages through both tables
+            rows = new ArrayList<>(rows);
+            rows.addAll(archivedBookingRepository.findPage(barber, service, from, to,
+                    after == null ? null : after.getTimestamp(), after == null ? null : after.getId(), size + 1));
+            rows.sort(PAGE_ORDER);
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            BookingSummary last = rows.get(size - 1);
+            nextCursor = BookingPage.encodeCursor(last.getTimestamp(), last.getId());
+        }
+        return ResponseEntity.ok(new BookingPage(rows, nextCursor));
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            HttpServletResponse response) throws IOException {
+        if (!tokenService.isAdmin(authorization)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Admin login required");
+        }
+        BookingExportService.Format exportFormat;
+        try {
+            exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+        String extension = exportFormat == BookingExportService.Format.CSV ? "csv" : "ndjson";
+        response.setContentType(exportFormat == BookingExportService.Format.CSV
+                ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"bookings." + extension + "\"");
+        bookingExportService.export(from, to, exportFormat, includeArchived, response.getOutputStream());
+    }
+
+    // Bulk load in the export formats; the body is streamed, rows failing validation are reported and skipped
+    @PostMapping("/import")
+    public ResponseEntity<?> importBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean notify,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            HttpServletRequest request) throws IOException {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
+        BookingExportService.Format importFormat;
+        try {
+            importFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown import format: " + format);
+        }
+        try {
+            ImportReport report = bookingImportService.importBookings(request.getInputStream(), importFormat, notify, dryRun);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Runs the nightly archiving now; bookings dated before `before` (default and latest: the configured horizon) move
+    @PostMapping("/archive")
+    public ResponseEntity<?> archiveBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
+        try {
+            int archived = archiveService.archive(before == null ? archiveService.defaultCutoff() : before);
+            return ResponseEntity.ok(Map.of("archived", archived));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/reserved")
-    public List<Booking> getReservedBookings(@RequestParam String date, @RequestParam String barber) {
-        return bookingRepository.findByDateAndBarber(date, barber);
+    public List<ReservedSlot> getReservedBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String barber) {
+        requireKnownBarber(barber);
+        return availabilityService.getReservedTimes(barber, date).stream()
+                .map(ReservedSlot::new)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/free")
+    public SlotAvailability getFreeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String barber) {
+        requireKnownBarber(barber);
+        return new SlotAvailability(barber, date, availabilityService.isDayOff(barber, date),
+                availabilityService.getFreeTimes(barber, date));
+    }
+
+    // Earliest free starts across barbers (all, or the repeated barber parameter) for a service of
+    // `duration` minutes, e.g. "first free hour with anyone this week". A catalog `service` sets the
+    // duration and leaves out barbers who do not offer it.
+    @GetMapping("/suggestions")
+    public List<SlotSuggestion> suggestSlots(
+            @RequestParam(required = false) List<String> barber,
+            @RequestParam(required = false) String service,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "5") int count) {
+        if (service != null) {
+            ServiceOffering offering = serviceCatalog.find(service).orElseThrow(() ->
+                    new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown service: " + service));
+            duration = offering.getDurationMinutes();
+            if (!offering.getBarberIds().isEmpty()) {
+                barber = barber == null ? List.copyOf(offering.getBarberIds())
+                        : barber.stream().filter(offering::isOfferedBy).collect(Collectors.toList());
+            }
+        }
+        if (days < 1 || days > MAX_SUGGESTION_DAYS || count < 1 || count > MAX_SUGGESTIONS
+                || duration < 1 || duration > AvailabilityService.SLOT_COUNT * AvailabilityService.SLOT_MINUTES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days must be 1-" + MAX_SUGGESTION_DAYS
+                    + ", count 1-" + MAX_SUGGESTIONS + ", duration within one working day");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate start = from == null ? now.toLocalDate() : from;
+        return availabilityService.suggest(barber, start, start.plusDays(days - 1), duration, count, now);
+    }
+
+    // Live slot changes for one barber+date; the first event is a snapshot of the reserved times
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter slotEvents(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String barber,
+            HttpServletResponse response) {
+        requireKnownBarber(barber);
+        SseEmitter emitter = slotEventBroadcaster.subscribe(barber, date, () -> SlotEvent.snapshot(barber, date,
+                availabilityService.isDayOff(barber, date), availabilityService.getReservedTimes(barber, date)));
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open event streams");
+        }
+        // Keep nginx-style proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return emitter;
     }
 
     @PostMapping
-    public Booking createBooking(@RequestBody Booking booking) {
+    public ResponseEntity<?> createBooking(@RequestBody Booking booking,
+            @RequestHeader(value = "Accept-Language", required = false) String acceptLanguage) {
+        // Each booking sends a confirmation email; cap them per recipient
+        long retryAfter = rateLimiter.acquire("booking-email",
+                booking.getEmail() == null ? null : booking.getEmail().toLowerCase());
+        if (retryAfter > 0) {
+            return RateLimiter.tooManyRequests(retryAfter);
+        }
+        try {
+            serviceCatalog.price(booking);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
         booking.setTimestamp(LocalDateTime.now());
-        Booking savedBooking = bookingRepository.save(booking);
-        notificationService.sendBookingConfirmation(savedBooking);
-        return savedBooking;
+        // The site sends its current language; older clients fall back to the browser's
+        booking.setLocale(NotificationTemplates.locale(booking.getLocale() != null ? booking.getLocale() : acceptLanguage));
+        try {
+            return ResponseEntity.ok(bookingAdmissionService.admit(booking));
+        } catch (SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
     }
 
     @DeleteMapping("/{id}")
     public void deleteBooking(@PathVariable Long id) {
-        bookingRepository.findById(id).ifPresent(booking -> {
-            notificationService.sendBookingCancellation(booking);
-            bookingRepository.delete(booking);
-        });
+        bookingAdmissionService.cancel(id);
+    }
+
+    private void requireKnownBarber(String barber) {
+        if (!availabilityService.isKnownBarber(barber)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown barber: " + barber);
+        }
     }
 
-    // Simple Admin Auth Simulation
+    // Simple Admin Auth Simulation; the token authorizes the admin-only writes (barbers and their images)
     @PostMapping("/auth")
-    public boolean login(@RequestBody Map<String, String> credentials) {
+    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
         String email = credentials.get("email");
         String password = credentials.get("password");
-        return "admin@silla.com".equals(email) && "admin123".equals(password);
+        if (!"admin@silla.com".equals(email) || !"admin123".equals(password)) {
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
+        }
+        TokenService.Claims admin = tokenService.issue("admin", List.of(TokenService.ROLE_ADMIN));
+        return ResponseEntity.ok(Map.of("token", admin.getToken(), "expiresAt", admin.getExpiresAt()));
     }
 }
@@ -1,12 +1,24 @@
 package com.silla.server.controller;
 
+import com.silla.server.model.Barber;
 import com.silla.server.model.DayOff;
+import com.silla.server.repository.BarberRepository;
 import com.silla.server.repository.DayOffRepository;
+import com.silla.server.service.AvailabilityService;
+import com.silla.server.service.DayOffService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/dayoffs")
@@ -15,39 +27,79 @@ public class DayOffController {
     @Autowired
     private DayOffRepository dayOffRepository;
 
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private DayOffService dayOffService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
     @GetMapping
-    public List<DayOff> getAllDayOffs() {
-        return dayOffRepository.findAll();
+    public ResponseEntity<List<DayOff>> getAllDayOffs() {
+        // Always revalidate; the ETag filter answers unchanged lists with 304
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(dayOffRepository.findAll());
     }
 
     @PostMapping
-    public DayOff createDayOff(@RequestBody DayOff dayOff) {
-        return dayOffRepository.save(dayOff);
+    public ResponseEntity<?> createDayOff(@RequestBody DayOff dayOff) {
+        try {
+            DayOff saved = dayOffRepository.save(dayOff);
+            availabilityService.onDayOffAdded(saved.getBarberId(), saved.getDate());
+            return ResponseEntity.ok(saved);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Day off already exists"));
+        }
     }
 
     @DeleteMapping("/{id}")
     public void deleteDayOff(@PathVariable Long id) {
-        dayOffRepository.deleteById(id);
+        dayOffRepository.findById(id).ifPresent(dayOff -> {
+            dayOffRepository.delete(dayOff);
+            availabilityService.onDayOffRemoved(dayOff.getBarberId(), dayOff.getDate());
+        });
     }
 
     @PostMapping("/range")
-    public List<DayOff> createDayOffRange(@RequestBody DayOffRangeRequest request) {
-        List<DayOff> newDayOffs = new java.util.ArrayList<>();
-        LocalDate start = request.getStartDate();
-        LocalDate end = request.getEndDate();
-
-        if (start.isAfter(end)) {
-            throw new IllegalArgumentException("Start date must be before or equal to end date");
+    public ResponseEntity<?> createDayOffRange(@RequestBody DayOffRangeRequest request) {
+        Set<String> barberIds = new LinkedHashSet<>();
+        if (request.isAllBarbers()) {
+            for (Barber barber : barberRepository.findAll()) {
+                barberIds.add(barber.getId());
+            }
+        } else {
+            if (request.getBarberId() != null) {
+                barberIds.add(request.getBarberId());
+            }
+            if (request.getBarberIds() != null) {
+                barberIds.addAll(request.getBarberIds());
+            }
         }
 
-        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
-            // Check if already exists to avoid duplicates
-            if (dayOffRepository.findByBarberIdAndDate(request.getBarberId(), date).isEmpty()) {
-                DayOff dayOff = new DayOff(request.getBarberId(), date);
-                newDayOffs.add(dayOffRepository.save(dayOff));
+        List<LocalDate[]> ranges = new ArrayList<>();
+        if (request.getStartDate() != null || request.getEndDate() != null) {
+            ranges.add(new LocalDate[] { request.getStartDate(), request.getEndDate() });
+        }
+        if (request.getRanges() != null) {
+            for (DateRange range : request.getRanges()) {
+                ranges.add(new LocalDate[] { range.getStartDate(), range.getEndDate() });
             }
         }
-        return newDayOffs;
+
+        List<DayOff> newDayOffs;
+        try {
+            newDayOffs = dayOffService.createRanges(barberIds, ranges);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request inserted one of the same dates; nothing was written
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Day off already exists"));
+        }
+        for (DayOff dayOff : newDayOffs) {
+            availabilityService.onDayOffAdded(dayOff.getBarberId(), dayOff.getDate());
+        }
+        return ResponseEntity.ok(newDayOffs);
     }
 
     @GetMapping("/check")
@@ -55,10 +107,17 @@ public class DayOffController {
         return dayOffRepository.findByBarberIdAndDate(barberId, LocalDate.parse(date));
     }
 
+    /**
+     * Either a single barberId/startDate/endDate, or any combination of
+     * barberIds (or allBarbers) and ranges for closing the shop in one call.
+     */
     public static class DayOffRangeRequest {
         private String barberId;
         private LocalDate startDate;
         private LocalDate endDate;
+        private List<String> barberIds;
+        private boolean allBarbers;
+        private List<DateRange> ranges;
 
         public String getBarberId() {
             return barberId;
@@ -83,5 +142,50 @@ public class DayOffController {
         public void setEndDate(LocalDate endDate) {
             this.endDate = endDate;
         }
+
+        public List<String> getBarberIds() {
+            return barberIds;
+        }
+
+        public void setBarberIds(List<String> barberIds) {
+            this.barberIds = barberIds;
+        }
+
+        public boolean isAllBarbers() {
+            return allBarbers;
+        }
+
+        public void setAllBarbers(boolean allBarbers) {
+            this.allBarbers = allBarbers;
+        }
+
+        public List<DateRange> getRanges() {
+            return ranges;
+        }
+
+        public void setRanges(List<DateRange> ranges) {
+            this.ranges = ranges;
+        }
+    }
+
+    public static class DateRange {
+        private LocalDate startDate;
+        private LocalDate endDate;
+
+        public LocalDate getStartDate() {
+            return startDate;
+        }
+
+        public void setStartDate(LocalDate startDate) {
+            this.startDate = startDate;
+        }
+
+        public LocalDate getEndDate() {
+            return endDate;
+        }
+
+        public void setEndDate(LocalDate endDate) {
+            this.endDate = endDate;
+        }
     }
 }
@@ -0,0 +1,76 @@
+package com.silla.server.controller;
+
+import com.silla.server.model.ServiceOffering;
+import com.silla.server.repository.ServiceOfferingRepository;
+import com.silla.server.service.AvailabilityService;
+import com.silla.server.service.ServiceCatalog;
+import com.silla.server.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/services")
+public class ServiceOfferingController {
+
+    @Autowired
+    private ServiceOfferingRepository serviceOfferingRepository;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private static final ResponseEntity<?> UNAUTHORIZED =
+            ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Admin login required"));
+
+    @GetMapping
+    public ResponseEntity<List<ServiceOffering>> getAllServices() {
+        // Always revalidate; the ETag filter answers unchanged lists with 304
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(serviceCatalog.findAll());
+    }
+
+    // Creates or replaces a service; existing bookings keep the duration and price they were made with
+    @PostMapping
+    public ResponseEntity<?> saveService(@RequestBody ServiceOffering service,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
+        if (service.getId() == null || service.getId().isBlank()) {
+            if (service.getNameEn() == null || service.getNameEn().isBlank()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Id or English name is required"));
+            }
+            service.setId(service.getNameEn().toLowerCase().replaceAll("[^a-z0-9]+", "-"));
+        }
+        if (service.getNameIt() == null || service.getNameEn() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Italian and English names are required"));
+        }
+        int duration = service.getDurationMinutes();
+        if (duration <= 0 || duration % AvailabilityService.UNIT_MINUTES != 0
+                || duration > AvailabilityService.SLOT_COUNT * AvailabilityService.SLOT_MINUTES) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Duration must be a multiple of "
+                    + AvailabilityService.UNIT_MINUTES + " minutes within one working day"));
+        }
+        if (service.getPrice() < 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Price must not be negative"));
+        }
+        return ResponseEntity.ok(serviceOfferingRepository.save(service));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteService(@PathVariable String id,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!tokenService.isAdmin(authorization)) {
+            return UNAUTHORIZED;
+        }
+        serviceOfferingRepository.deleteById(id);
+        return ResponseEntity.ok().build();
+    }
+}
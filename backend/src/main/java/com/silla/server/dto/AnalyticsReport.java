@@ -0,0 +1,166 @@
+package com.silla.server.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue and workload between two dates from /api/analytics: totals per
+ * period (day, week or month, keyed by its first date), per barber with
+ * utilization net of days off, and per service. Unassigned bookings and
+ * bookings without a service are reported under the key "".
+ */
+public class AnalyticsReport {
+
+    private LocalDate from;
+    private LocalDate to;
+    private String granularity;
+    private Totals total;
+    private List<Totals> periods;
+    private List<BarberTotals> barbers;
+    private List<Totals> services;
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public Totals getTotal() {
+        return total;
+    }
+
+    public void setTotal(Totals total) {
+        this.total = total;
+    }
+
+    public List<Totals> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<Totals> periods) {
+        this.periods = periods;
+    }
+
+    public List<BarberTotals> getBarbers() {
+        return barbers;
+    }
+
+    public void setBarbers(List<BarberTotals> barbers) {
+        this.barbers = barbers;
+    }
+
+    public List<Totals> getServices() {
+        return services;
+    }
+
+    public void setServices(List<Totals> services) {
+        this.services = services;
+    }
+
+    public static class Totals {
+        private String key;
+        private long bookings;
+        private double revenue;
+        private long bookedMinutes;
+
+        public Totals() {
+        }
+
+        public Totals(String key) {
+            this.key = key;
+        }
+
+        public void add(long bookings, double revenue, long bookedMinutes) {
+            this.bookings += bookings;
+            this.revenue += revenue;
+            this.bookedMinutes += bookedMinutes;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public long getBookings() {
+            return bookings;
+        }
+
+        public void setBookings(long bookings) {
+            this.bookings = bookings;
+        }
+
+        public double getRevenue() {
+            return revenue;
+        }
+
+        public void setRevenue(double revenue) {
+            this.revenue = revenue;
+        }
+
+        public long getBookedMinutes() {
+            return bookedMinutes;
+        }
+
+        public void setBookedMinutes(long bookedMinutes) {
+            this.bookedMinutes = bookedMinutes;
+        }
+    }
+
+    public static class BarberTotals extends Totals {
+        private int daysOff;
+        private long availableMinutes; // opening hours of the range minus days off
+        private Double utilization; // bookedMinutes / availableMinutes, null when nothing was available
+
+        public BarberTotals() {
+        }
+
+        public BarberTotals(String key) {
+            super(key);
+        }
+
+        public int getDaysOff() {
+            return daysOff;
+        }
+
+        public void setDaysOff(int daysOff) {
+            this.daysOff = daysOff;
+        }
+
+        public long getAvailableMinutes() {
+            return availableMinutes;
+        }
+
+        public void setAvailableMinutes(long availableMinutes) {
+            this.availableMinutes = availableMinutes;
+        }
+
+        public Double getUtilization() {
+            return utilization;
+        }
+
+        public void setUtilization(Double utilization) {
+            this.utilization = utilization;
+        }
+    }
+}
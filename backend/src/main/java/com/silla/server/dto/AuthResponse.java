@@ -0,0 +1,88 @@
+package com.silla.server.dto;
+
+import java.time.Instant;
+
+/**
+ * Returned by login/register: the user's profile (never the password hash)
+ * plus a signed bearer token for later requests.
+ */
+public class AuthResponse {
+
+    private Long id;
+    private String name;
+    private String surname;
+    private String email;
+    private String phone;
+    private String token;
+    private Instant expiresAt;
+
+    public AuthResponse() {
+    }
+
+    public AuthResponse(Long id, String name, String surname, String email, String phone, String token,
+            Instant expiresAt) {
+        this.id = id;
+        this.name = name;
+        this.surname = surname;
+        this.email = email;
+        this.phone = phone;
+        this.token = token;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public void setSurname(String surname) {
+        this.surname = surname;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
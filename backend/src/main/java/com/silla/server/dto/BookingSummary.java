@@ -0,0 +1,70 @@
+package com.silla.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Columns shown in the admin booking list, fetched as a JPQL projection.
+ */
+public class BookingSummary {
+
+    private Long id;
+    private String barber;
+    private String service;
+    private LocalDate date;
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime time;
+    private String name;
+    private String surname;
+    private String email;
+    private String phone;
+    private String message;
+    private double price;
+    private Integer durationMinutes;
+    private LocalDateTime timestamp;
+    private boolean archived;
+
+    public BookingSummary(Long id, String barber, String service, LocalDate date, LocalTime time, String name,
+            String surname, String email, String phone, String message, double price, Integer durationMinutes,
+            LocalDateTime timestamp) {
+        this(id, barber, service, date, time, name, surname, email, phone, message, price, durationMinutes, timestamp,
+                false);
+    }
+
+    public BookingSummary(Long id, String barber, String service, LocalDate date, LocalTime time, String name,
+            String surname, String email, String phone, String message, double price, Integer durationMinutes,
+            LocalDateTime timestamp, boolean archived) {
+        this.id = id;
+        this.barber = barber;
+        this.service = service;
+        this.date = date;
+        this.time = time;
+        this.name = name;
+        this.surname = surname;
+        this.email = email;
+        this.phone = phone;
+        this.message = message;
+        this.price = price;
+        this.durationMinutes = durationMinutes;
+        this.timestamp = timestamp;
+        this.archived = archived;
+    }
+
+    public Long getId() { return id; }
+    public String getBarber() { return barber; }
+    public String getService() { return service; }
+    public LocalDate getDate() { return date; }
+    public LocalTime getTime() { return time; }
+    public String getName() { return name; }
+    public String getSurname() { return surname; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getMessage() { return message; }
+    public double getPrice() { return price; }
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public boolean isArchived() { return archived; }
+}
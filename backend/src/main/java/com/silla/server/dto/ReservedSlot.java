@@ -0,0 +1,24 @@
+package com.silla.server.dto;
+
+/**
+ * Slim view of an occupied slot: only the time, never the customer details.
+ */
+public class ReservedSlot {
+
+    private String time; // HH:mm
+
+    public ReservedSlot() {
+    }
+
+    public ReservedSlot(String time) {
+        this.time = time;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public void setTime(String time) {
+        this.time = time;
+    }
+}
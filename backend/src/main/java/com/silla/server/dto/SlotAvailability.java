@@ -0,0 +1,54 @@
+package com.silla.server.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SlotAvailability {
+
+    private String barber;
+    private LocalDate date;
+    private boolean dayOff;
+    private List<String> free; // HH:mm
+
+    public SlotAvailability() {
+    }
+
+    public SlotAvailability(String barber, LocalDate date, boolean dayOff, List<String> free) {
+        this.barber = barber;
+        this.date = date;
+        this.dayOff = dayOff;
+        this.free = free;
+    }
+
+    public String getBarber() {
+        return barber;
+    }
+
+    public void setBarber(String barber) {
+        this.barber = barber;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public boolean isDayOff() {
+        return dayOff;
+    }
+
+    public void setDayOff(boolean dayOff) {
+        this.dayOff = dayOff;
+    }
+
+    public List<String> getFree() {
+        return free;
+    }
+
+    public void setFree(List<String> free) {
+        this.free = free;
+    }
+}
@@ -0,0 +1,92 @@
+package com.silla.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Pushed to booking pages subscribed to /api/bookings/events. A "snapshot"
+ * carries the full reserved list; every other type carries one change.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlotEvent {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String SLOT_TAKEN = "slot-taken";
+    public static final String SLOT_FREED = "slot-freed";
+    public static final String DAY_OFF_ADDED = "day-off-added";
+    public static final String DAY_OFF_REMOVED = "day-off-removed";
+
+    private String type;
+    private String barber;
+    private LocalDate date;
+    private String time; // HH:mm, slot events only
+    private Boolean dayOff; // snapshot only
+    private List<String> reserved; // HH:mm, snapshot only
+
+    public SlotEvent() {
+    }
+
+    public SlotEvent(String type, String barber, LocalDate date, String time) {
+        this.type = type;
+        this.barber = barber;
+        this.date = date;
+        this.time = time;
+    }
+
+    public static SlotEvent snapshot(String barber, LocalDate date, boolean dayOff, List<String> reserved) {
+        SlotEvent event = new SlotEvent(SNAPSHOT, barber, date, null);
+        event.setDayOff(dayOff);
+        event.setReserved(reserved);
+        return event;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getBarber() {
+        return barber;
+    }
+
+    public void setBarber(String barber) {
+        this.barber = barber;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public void setTime(String time) {
+        this.time = time;
+    }
+
+    public Boolean getDayOff() {
+        return dayOff;
+    }
+
+    public void setDayOff(Boolean dayOff) {
+        this.dayOff = dayOff;
+    }
+
+    public List<String> getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(List<String> reserved) {
+        this.reserved = reserved;
+    }
+}
@@ -0,0 +1,46 @@
+package com.silla.server.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A free start for a service of the requested length, from /api/bookings/suggestions.
+ */
+public class SlotSuggestion {
+
+    private String barber;
+    private LocalDate date;
+    private String time; // HH:mm
+
+    public SlotSuggestion() {
+    }
+
+    public SlotSuggestion(String barber, LocalDate date, String time) {
+        this.barber = barber;
+        this.date = date;
+        this.time = time;
+    }
+
+    public String getBarber() {
+        return barber;
+    }
+
+    public void setBarber(String barber) {
+        this.barber = barber;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public void setTime(String time) {
+        this.time = time;
+    }
+}
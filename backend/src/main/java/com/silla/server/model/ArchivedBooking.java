@@ -0,0 +1,81 @@
+package com.silla.server.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A booking moved out of the live table by ArchiveService. Read-only: rows
+ * are written with INSERT ... SELECT from bookings, keeping the id.
+ */
+@Entity
+@Table(name = "bookings_archive",
+        indexes = {
+                @Index(name = "idx_booking_archive_date", columnList = "date"),
+                @Index(name = "idx_booking_archive_timestamp", columnList = "timestamp")
+        })
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    private String barber;
+    private String service;
+    private LocalDate date;
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime time;
+    // NULL when archived anonymized
+    private String name;
+    private String surname;
+    private String email;
+    private String phone;
+    private String message;
+
+    private double price;
+    private LocalDateTime timestamp;
+    private Integer durationMinutes;
+
+    @Column(length = 8)
+    private String locale;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false)
+    private boolean anonymized;
+
+    public ArchivedBooking() {}
+
+    /** The row as a detached Booking, flagged as archived, for lists mixing both tables. */
+    public Booking toBooking() {
+        Booking booking = new Booking(id, barber, service, date, time, name, surname, email, phone, message, price, timestamp);
+        booking.setDurationMinutes(durationMinutes);
+        booking.setLocale(locale);
+        booking.setArchived(true);
+        return booking;
+    }
+
+    public Long getId() { return id; }
+    public String getBarber() { return barber; }
+    public String getService() { return service; }
+    public LocalDate getDate() { return date; }
+    public LocalTime getTime() { return time; }
+    public String getName() { return name; }
+    public String getSurname() { return surname; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getMessage() { return message; }
+    public double getPrice() { return price; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public String getLocale() { return locale; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public boolean isAnonymized() { return anonymized; }
+}
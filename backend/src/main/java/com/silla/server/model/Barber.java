@@ -13,15 +13,16 @@ public class Barber {
 
     private String name;
     private String roleKey;
-    @jakarta.persistence.Lob
+    // Long text rather than @Lob: read as a plain string on both H2 (CLOB) and PostgreSQL (text)
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.LONG32VARCHAR)
     @jakarta.persistence.Column(length = 1000000) // Increase length for Base64 images
     private String img;
 
-    @jakarta.persistence.Lob
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.LONG32VARCHAR)
     @jakarta.persistence.Column(length = 5000)
     private String descriptionIt;
 
-    @jakarta.persistence.Lob
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.LONG32VARCHAR)
     @jakarta.persistence.Column(length = 5000)
     private String descriptionEn;
 
@@ -0,0 +1,56 @@
+package com.silla.server.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Original portrait bytes, kept out of the barbers table so the barber list
+ * stays small. Served by /api/barbers/{id}/image.
+ */
+@Entity
+@Table(name = "barber_images")
+public class BarberImage {
+
+    public static final int MAX_BYTES = 5_000_000;
+
+    @Id
+    private String barberId;
+
+    private String contentType;
+
+    // Plain VARBINARY as created by V4 (Hibernate would pick a BLOB for this length)
+    @Column(length = MAX_BYTES)
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    private byte[] data;
+
+    private String etag; // SHA-256 of data, hex
+
+    private LocalDateTime updatedAt;
+
+    public BarberImage() {}
+
+    public BarberImage(String barberId, String contentType, byte[] data, String etag, LocalDateTime updatedAt) {
+        this.barberId = barberId;
+        this.contentType = contentType;
+        this.data = data;
+        this.etag = etag;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getBarberId() { return barberId; }
+    public void setBarberId(String barberId) { this.barberId = barberId; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+    public String getEtag() { return etag; }
+    public void setEtag(String etag) { this.etag = etag; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
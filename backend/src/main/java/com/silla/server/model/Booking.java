@@ -1,15 +1,28 @@
 package com.silla.server.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+        uniqueConstraints = @UniqueConstraint(name = "uk_booking_slot", columnNames = { "barber", "date", "time" }),
+        indexes = {
+                @Index(name = "idx_booking_timestamp", columnList = "timestamp"),
+                @Index(name = "idx_booking_date_time", columnList = "date, time")
+        })
 public class Booking {
 
     @Id
@@ -18,8 +31,9 @@ public class Booking {
 
     private String barber;
     private String service;
-    private String date; // YYYY-MM-DD
-    private String time; // HH:mm
+    private LocalDate date; // YYYY-MM-DD
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime time;
     
     private String name;
     private String surname;
@@ -28,13 +42,24 @@ public class Booking {
     private String message;
     
     private double price;
+
+    private Integer durationMinutes; // from the service catalog; null on older bookings (one slot)
     
     private LocalDateTime timestamp;
 
+    @Column(length = 8)
+    private String locale; // "it" / "en", language of the notifications
+
+    @JsonIgnore
+    @Column(nullable = false)
+    private int reminderStage; // reminders queued so far, see ReminderService
+
+    @Transient
+    private boolean archived; // read from bookings_archive, see ArchivedBooking
 
     public Booking() {}
 
-    public Booking(Long id, String barber, String service, String date, String time, String name, String surname, String email, String phone, String message, double price, LocalDateTime timestamp) {
+    public Booking(Long id, String barber, String service, LocalDate date, LocalTime time, String name, String surname, String email, String phone, String message, double price, LocalDateTime timestamp) {
         this.id = id;
         this.barber = barber;
         this.service = service;
@@ -55,10 +80,10 @@ public class Booking {
     public void setBarber(String barber) { this.barber = barber; }
     public String getService() { return service; }
     public void setService(String service) { this.service = service; }
-    public String getDate() { return date; }
-    public void setDate(String date) { this.date = date; }
-    public String getTime() { return time; }
-    public void setTime(String time) { this.time = time; }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
     public String getSurname() { return surname; }
@@ -71,6 +96,16 @@ public class Booking {
     public void setMessage(String message) { this.message = message; }
     public double getPrice() { return price; }
     public void setPrice(double price) { this.price = price; }
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+    public String getLocale() { return locale; }
+    public void setLocale(String locale) { this.locale = locale; }
+
+    public int getReminderStage() { return reminderStage; }
+    public void setReminderStage(int reminderStage) { this.reminderStage = reminderStage; }
+
+    public boolean isArchived() { return archived; }
+    public void setArchived(boolean archived) { this.archived = archived; }
 }
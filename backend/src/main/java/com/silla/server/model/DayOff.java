@@ -4,13 +4,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDate;
 
 @Entity
+@Table(name = "day_off", uniqueConstraints = @UniqueConstraint(name = "uk_day_off_barber_date", columnNames = { "barber_id", "date" }))
 public class DayOff {
 
+    // Sequence (not IDENTITY) so range inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "day_off_seq")
+    @SequenceGenerator(name = "day_off_seq", sequenceName = "day_off_seq", allocationSize = 50)
     private Long id;
 
     private String barberId;
@@ -0,0 +1,111 @@
+package com.silla.server.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A bookable service ("cut", "combo", ...). Bookings refer to it by id and
+ * copy its duration and price when they are made.
+ */
+@Entity
+@Table(name = "services")
+public class ServiceOffering {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(nullable = false)
+    private String nameIt;
+
+    @Column(nullable = false)
+    private String nameEn;
+
+    @Column(nullable = false)
+    private int durationMinutes; // multiple of 5
+
+    @Column(nullable = false)
+    private double price;
+
+    // Eager: the catalog is cached and used outside any session. Empty means every barber.
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "service_barbers", joinColumns = @JoinColumn(name = "service_id"))
+    @Column(name = "barber_id", nullable = false)
+    private Set<String> barberIds = new HashSet<>();
+
+    public ServiceOffering() {
+    }
+
+    public ServiceOffering(String id, String nameIt, String nameEn, int durationMinutes, double price) {
+        this.id = id;
+        this.nameIt = nameIt;
+        this.nameEn = nameEn;
+        this.durationMinutes = durationMinutes;
+        this.price = price;
+    }
+
+    public boolean isOfferedBy(String barberId) {
+        return barberIds.isEmpty() || barberIds.contains(barberId);
+    }
+
+    public String getName(String locale) {
+        return "en".equals(locale) ? nameEn : nameIt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNameIt() {
+        return nameIt;
+    }
+
+    public void setNameIt(String nameIt) {
+        this.nameIt = nameIt;
+    }
+
+    public String getNameEn() {
+        return nameEn;
+    }
+
+    public void setNameEn(String nameEn) {
+        this.nameEn = nameEn;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public Set<String> getBarberIds() {
+        return barberIds;
+    }
+
+    public void setBarberIds(Set<String> barberIds) {
+        this.barberIds = barberIds == null ? new HashSet<>() : barberIds;
+    }
+}
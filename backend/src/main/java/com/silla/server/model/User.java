@@ -1,5 +1,6 @@
 package com.silla.server.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 
@@ -21,10 +22,14 @@ public class User {
     private String email;
 
     @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // accepted on register, never serialized
     private String password; // Hashed
 
     private String phone;
 
+    @Column(length = 8)
+    private String locale; // "it" / "en", language of the notifications
+
     public User() {}
     public User(String name, String surname, String email, String password, String phone) {
         this.name = name;
@@ -46,4 +51,6 @@ public class User {
     public void setPassword(String password) { this.password = password; }
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
+    public String getLocale() { return locale; }
+    public void setLocale(String locale) { this.locale = locale; }
 }
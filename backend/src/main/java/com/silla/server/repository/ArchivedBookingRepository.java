@@ -0,0 +1,27 @@
+package com.silla.server.repository;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import com.silla.server.model.ArchivedBooking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+// Only the admin API reads the archive, and only when asked to; see BookingRepository for the queries
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long>, ArchivedBookingRepositoryCustom {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM ArchivedBooking b "
+            + "WHERE (:from IS NULL OR b.date >= :from) AND (:to IS NULL OR b.date <= :to) "
+            + "ORDER BY b.date, b.time, b.id")
+    Stream<ArchivedBooking> streamByDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
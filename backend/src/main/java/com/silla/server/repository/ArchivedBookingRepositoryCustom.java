@@ -0,0 +1,14 @@
+package com.silla.server.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.silla.server.dto.BookingSummary;
+
+public interface ArchivedBookingRepositoryCustom {
+
+    /** Same page as {@link BookingRepositoryCustom#findPage} over the archive. */
+    List<BookingSummary> findPage(String barber, String service, LocalDate from, LocalDate to,
+            LocalDateTime afterTimestamp, Long afterId, int limit);
+}
@@ -0,0 +1,24 @@
+package com.silla.server.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.silla.server.dto.BookingSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+public class ArchivedBookingRepositoryCustomImpl implements ArchivedBookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingSummary> findPage(String barber, String service, LocalDate from, LocalDate to,
+            LocalDateTime afterTimestamp, Long afterId, int limit) {
+        return BookingRepositoryCustomImpl.findPage(entityManager, "ArchivedBooking", true, barber, service, from, to,
+                afterTimestamp, afterId, limit);
+    }
+}
@@ -0,0 +1,9 @@
+package com.silla.server.repository;
+
+import com.silla.server.model.BarberImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BarberImageRepository extends JpaRepository<BarberImage, String> {
+}
@@ -1,9 +1,26 @@
 package com.silla.server.repository;
 
 import com.silla.server.model.Barber;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface BarberRepository extends JpaRepository<Barber, String> {
+
+    // The barber list is read on every page view and changes a few times a month
+    @Override
+    @Cacheable("barbers")
+    List<Barber> findAll();
+
+    @Override
+    @CacheEvict(value = "barbers", allEntries = true)
+    <S extends Barber> S save(S barber);
+
+    @Override
+    @CacheEvict(value = "barbers", allEntries = true)
+    void deleteById(String id);
 }
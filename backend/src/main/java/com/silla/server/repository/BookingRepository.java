@@ -1,13 +1,56 @@
 
 package com.silla.server.repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.silla.server.model.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByDateAndBarber(String date, String barber);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    // Read-only query methods are served by the replica when one is configured
+    @Transactional(readOnly = true)
+    List<Booking> findByDateAndBarber(LocalDate date, String barber);
+
+    List<Booking> findByBarberAndDateBetween(String barber, LocalDate from, LocalDate to);
+
+    List<Booking> findByDateBetween(LocalDate from, LocalDate to);
+
+    // Bookings at (from, to] that still owe the reminder `stage`, for ReminderService. Not
+    // read-only: a replica may not have a booking the reminder engine was just told about.
+    @Query("SELECT b FROM Booking b WHERE b.reminderStage < :stage "
+            + "AND b.date BETWEEN :fromDate AND :toDate "
+            + "AND (b.date > :fromDate OR b.time > :fromTime) "
+            + "AND (b.date < :toDate OR b.time <= :toTime)")
+    List<Booking> findOwingReminder(@Param("stage") int stage,
+            @Param("fromDate") LocalDate fromDate, @Param("fromTime") LocalTime fromTime,
+            @Param("toDate") LocalDate toDate, @Param("toTime") LocalTime toTime);
+
+    // Row locks keep two nodes from queuing the same reminder
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.reminderStage < :stage")
+    List<Booking> lockOwingReminder(@Param("ids") Collection<Long> ids, @Param("stage") int stage);
+
+    // Server-side cursor for exports; must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b "
+            + "WHERE (:from IS NULL OR b.date >= :from) AND (:to IS NULL OR b.date <= :to) "
+            + "ORDER BY b.date, b.time, b.id")
+    Stream<Booking> streamByDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,17 @@
+package com.silla.server.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.silla.server.dto.BookingSummary;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Keyset page over (timestamp, id) descending, after the cursor when one
+     * is given; null filters are left out of the query.
+     */
+    List<BookingSummary> findPage(String barber, String service, LocalDate from, LocalDate to,
+            LocalDateTime afterTimestamp, Long afterId, int limit);
+}
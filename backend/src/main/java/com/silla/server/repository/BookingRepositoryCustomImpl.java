@@ -0,0 +1,66 @@
+package com.silla.server.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.silla.server.dto.BookingSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingSummary> findPage(String barber, String service, LocalDate from, LocalDate to,
+            LocalDateTime afterTimestamp, Long afterId, int limit) {
+        return findPage(entityManager, "Booking", false, barber, service, from, to, afterTimestamp, afterId, limit);
+    }
+
+    // Only the conditions that are set, so the planner sees a plain range scan of (timestamp, id)
+    static List<BookingSummary> findPage(EntityManager entityManager, String entity, boolean archived, String barber,
+            String service, LocalDate from, LocalDate to, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (barber != null) {
+            conditions.add("b.barber = :barber");
+            params.put("barber", barber);
+        }
+        if (service != null) {
+            conditions.add("b.service = :service");
+            params.put("service", service);
+        }
+        if (from != null) {
+            conditions.add("b.date >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            conditions.add("b.date <= :to");
+            params.put("to", to);
+        }
+        if (afterTimestamp != null) {
+            conditions.add("(b.timestamp, b.id) < (:afterTimestamp, :afterId)");
+            params.put("afterTimestamp", afterTimestamp);
+            params.put("afterId", afterId == null ? Long.MAX_VALUE : afterId);
+        }
+        StringBuilder jpql = new StringBuilder("SELECT new com.silla.server.dto.BookingSummary(b.id, b.barber, "
+                + "b.service, b.date, b.time, b.name, b.surname, b.email, b.phone, b.message, b.price, "
+                + "b.durationMinutes, b.timestamp")
+                .append(archived ? ", true) FROM " : ") FROM ").append(entity).append(" b");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY b.timestamp DESC, b.id DESC");
+        TypedQuery<BookingSummary> query = entityManager.createQuery(jpql.toString(), BookingSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,8 +1,12 @@
 package com.silla.server.repository;
 
 import com.silla.server.model.DayOff;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface DayOffRepository extends JpaRepository<DayOff, Long> {
@@ -10,5 +14,28 @@ public interface DayOffRepository extends JpaRepository<DayOff, Long> {
 
     List<DayOff> findByDate(LocalDate date);
 
+    @Transactional(readOnly = true)
     List<DayOff> findByBarberIdAndDate(String barberId, LocalDate date);
+
+    List<DayOff> findByBarberIdInAndDateBetween(Collection<String> barberIds, LocalDate from, LocalDate to);
+
+    @Override
+    @Cacheable("dayoffs")
+    List<DayOff> findAll();
+
+    @Override
+    @CacheEvict(value = "dayoffs", allEntries = true)
+    <S extends DayOff> S save(S dayOff);
+
+    @Override
+    @CacheEvict(value = "dayoffs", allEntries = true)
+    <S extends DayOff> List<S> saveAll(Iterable<S> dayOffs);
+
+    @Override
+    @CacheEvict(value = "dayoffs", allEntries = true)
+    void delete(DayOff dayOff);
+
+    @Override
+    @CacheEvict(value = "dayoffs", allEntries = true)
+    void deleteById(Long id);
 }
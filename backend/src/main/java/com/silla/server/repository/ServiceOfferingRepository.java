@@ -0,0 +1,26 @@
+package com.silla.server.repository;
+
+import com.silla.server.model.ServiceOffering;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ServiceOfferingRepository extends JpaRepository<ServiceOffering, String> {
+
+    // Read on every booking and page view, edited by hand now and then
+    @Override
+    @Cacheable("services")
+    List<ServiceOffering> findAll();
+
+    @Override
+    @CacheEvict(value = "services", allEntries = true)
+    <S extends ServiceOffering> S save(S service);
+
+    @Override
+    @CacheEvict(value = "services", allEntries = true)
+    void deleteById(String id);
+}
@@ -0,0 +1,316 @@
+package com.silla.server.service;
+
+import com.silla.server.dto.AnalyticsReport;
+import com.silla.server.dto.AnalyticsReport.BarberTotals;
+import com.silla.server.dto.AnalyticsReport.Totals;
+import com.silla.server.model.Barber;
+import com.silla.server.model.Booking;
+import com.silla.server.model.DayOff;
+import com.silla.server.repository.BarberRepository;
+import com.silla.server.repository.DayOffRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Revenue and workload from booking_daily_stats, one row per day, barber and
+ * service. Every booking write adjusts its row in the same transaction, so a
+ * report reads a few hundred rows instead of the bookings table; a nightly job
+ * recomputes the rollups from the bookings, live and archived, and fixes rows
+ * that drifted (e.g. bookings edited by hand in the database).
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    private static final long OPEN_MINUTES = AvailabilityService.SLOT_COUNT * AvailabilityService.SLOT_MINUTES;
+    private static final double REVENUE_TOLERANCE = 0.005;
+
+    private static final String COLUMNS = "date, barber, service, bookings, revenue, booked_minutes";
+    private static final String UPSERT_POSTGRES = "INSERT INTO booking_daily_stats (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (date, barber, service) DO UPDATE SET bookings = booking_daily_stats.bookings + EXCLUDED.bookings,"
+            + " revenue = booking_daily_stats.revenue + EXCLUDED.revenue,"
+            + " booked_minutes = booking_daily_stats.booked_minutes + EXCLUDED.booked_minutes";
+    private static final String INCREMENT = "UPDATE booking_daily_stats SET bookings = bookings + ?, revenue = revenue + ?,"
+            + " booked_minutes = booked_minutes + ? WHERE date = ? AND barber = ? AND service = ?";
+    private static final String INSERT = "INSERT INTO booking_daily_stats (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM booking_daily_stats WHERE date = ? AND barber = ? AND service = ?";
+    private static final String INSERT_EMPTY_POSTGRES = "INSERT INTO booking_daily_stats (" + COLUMNS + ")"
+            + " VALUES (?, ?, ?, 0, 0, 0) ON CONFLICT (date, barber, service) DO NOTHING";
+    private static final String LOCK = "SELECT bookings, revenue, booked_minutes FROM booking_daily_stats"
+            + " WHERE date = ? AND barber = ? AND service = ? FOR UPDATE";
+    private static final String SET = "UPDATE booking_daily_stats SET bookings = ?, revenue = ?, booked_minutes = ?"
+            + " WHERE date = ? AND barber = ? AND service = ?";
+    // Same grouping as the V9 migration that filled the table; archiving moves rows, it does not remove them
+    private static final String FROM_BOOKINGS = "SELECT date, COALESCE(barber, ''), COALESCE(service, ''), COUNT(*),"
+            + " SUM(price), SUM(CASE WHEN duration_minutes > 0 THEN duration_minutes ELSE 30 END)"
+            + " FROM (SELECT date, barber, service, price, duration_minutes FROM bookings"
+            + " UNION ALL SELECT date, barber, service, price, duration_minutes FROM bookings_archive) b"
+            + " WHERE date IS NOT NULL GROUP BY date, COALESCE(barber, ''), COALESCE(service, '')";
+    private static final String FROM_BOOKINGS_OF_ROW = "SELECT COUNT(*), COALESCE(SUM(price), 0),"
+            + " COALESCE(SUM(CASE WHEN duration_minutes > 0 THEN duration_minutes ELSE 30 END), 0)"
+            + " FROM (SELECT price, duration_minutes FROM bookings"
+            + " WHERE date = ? AND COALESCE(barber, '') = ? AND COALESCE(service, '') = ?"
+            + " UNION ALL SELECT price, duration_minutes FROM bookings_archive"
+            + " WHERE date = ? AND COALESCE(barber, '') = ? AND COALESCE(service, '') = ?) b";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private DayOffRepository dayOffRepository;
+
+    private boolean postgres;
+
+    @PostConstruct
+    void init() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        postgres = "PostgreSQL".equals(product);
+    }
+
+    /** Counts a new booking; call inside the transaction that inserts it. */
+    public void onBookingCreated(Booking booking) {
+        apply(booking, 1);
+    }
+
+    /** Takes a booking out again; call inside the transaction that deletes it. */
+    public void onBookingDeleted(Booking booking) {
+        apply(booking, -1);
+    }
+
+    /** Counts bookings inserted in bulk, one statement per rollup row; call inside their transaction. */
+    public void onBookingsImported(List<Booking> bookings) {
+        Map<String, Object[]> rows = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getDate() == null) {
+                continue;
+            }
+            Object[] empty = { Date.valueOf(booking.getDate()), key(booking.getBarber()), key(booking.getService()), 0, 0.0, 0 };
+            Object[] row = rows.computeIfAbsent(rowKey(empty), k -> empty);
+            row[3] = (int) row[3] + 1;
+            row[4] = (double) row[4] + booking.getPrice();
+            row[5] = (int) row[5] + AvailabilityService.durationOf(booking);
+        }
+        for (Object[] row : rows.values()) {
+            add((Date) row[0], (String) row[1], (String) row[2], (int) row[3], (double) row[4], (int) row[5]);
+        }
+    }
+
+    private void apply(Booking booking, int sign) {
+        if (booking.getDate() == null) {
+            return;
+        }
+        Date date = Date.valueOf(booking.getDate());
+        String barber = key(booking.getBarber());
+        String service = key(booking.getService());
+        double revenue = sign * booking.getPrice();
+        int minutes = sign * AvailabilityService.durationOf(booking);
+        if (sign < 0) {
+            jdbcTemplate.update(INCREMENT, sign, revenue, minutes, date, barber, service);
+            deleteIfEmpty(date, barber, service);
+            return;
+        }
+        add(date, barber, service, sign, revenue, minutes);
+    }
+
+    private void add(Date date, String barber, String service, int bookings, double revenue, int minutes) {
+        if (postgres) {
+            jdbcTemplate.update(UPSERT_POSTGRES, date, barber, service, bookings, revenue, minutes);
+            return;
+        }
+        // H2 has no ON CONFLICT ... DO UPDATE. A failed statement does not abort the
+        // transaction there, so losing the insert race to another booking just means updating.
+        if (jdbcTemplate.update(INCREMENT, bookings, revenue, minutes, date, barber, service) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT, date, barber, service, bookings, revenue, minutes);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(INCREMENT, bookings, revenue, minutes, date, barber, service);
+        }
+    }
+
+    // Rows of days whose last booking was cancelled would otherwise pile up
+    private void deleteIfEmpty(Date date, String barber, String service) {
+        jdbcTemplate.update(DELETE + " AND bookings <= 0", date, barber, service);
+    }
+
+    @Transactional(readOnly = true)
+    public AnalyticsReport report(LocalDate from, LocalDate to, Granularity granularity) {
+        Totals total = new Totals("");
+        Map<LocalDate, Totals> periods = new TreeMap<>();
+        Map<String, BarberTotals> barbers = new LinkedHashMap<>();
+        Map<String, Totals> services = new TreeMap<>();
+        for (Barber barber : barberRepository.findAll()) {
+            barbers.put(barber.getId(), new BarberTotals(barber.getId()));
+        }
+        Set<String> working = new HashSet<>(barbers.keySet());
+        jdbcTemplate.query("SELECT " + COLUMNS + " FROM booking_daily_stats WHERE date BETWEEN ? AND ? AND bookings > 0",
+                rs -> {
+                    LocalDate date = rs.getDate(1).toLocalDate();
+                    long bookings = rs.getLong(4);
+                    double revenue = rs.getDouble(5);
+                    long minutes = rs.getLong(6);
+                    total.add(bookings, revenue, minutes);
+                    LocalDate period = periodStart(date, granularity);
+                    periods.computeIfAbsent(period, key -> new Totals(key.toString())).add(bookings, revenue, minutes);
+                    barbers.computeIfAbsent(rs.getString(2), BarberTotals::new).add(bookings, revenue, minutes);
+                    services.computeIfAbsent(rs.getString(3), Totals::new).add(bookings, revenue, minutes);
+                }, Date.valueOf(from), Date.valueOf(to));
+
+        List<String> barberIds = new ArrayList<>(barbers.keySet());
+        for (DayOff dayOff : dayOffRepository.findByBarberIdInAndDateBetween(barberIds, from, to)) {
+            BarberTotals barber = barbers.get(dayOff.getBarberId());
+            barber.setDaysOff(barber.getDaysOff() + 1);
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        for (BarberTotals barber : barbers.values()) {
+            // Nobody works for "unassigned" or for barbers deleted since
+            if (working.contains(barber.getKey())) {
+                barber.setAvailableMinutes((days - barber.getDaysOff()) * OPEN_MINUTES);
+            }
+            if (barber.getAvailableMinutes() > 0) {
+                barber.setUtilization((double) barber.getBookedMinutes() / barber.getAvailableMinutes());
+            }
+        }
+
+        AnalyticsReport report = new AnalyticsReport();
+        report.setFrom(from);
+        report.setTo(to);
+        report.setGranularity(granularity.name().toLowerCase());
+        report.setTotal(total);
+        report.setPeriods(new ArrayList<>(periods.values()));
+        report.setBarbers(new ArrayList<>(barbers.values()));
+        report.setServices(new ArrayList<>(services.values()));
+        return report;
+    }
+
+    @Scheduled(cron = "0 45 3 * * *")
+    public void reconcileNightly() {
+        clusterCoordinator.runExclusively("analytics-reconcile", this::reconcile);
+    }
+
+    /**
+     * Recomputes the rollups from the bookings tables; returns the number of
+     * rows fixed. A first pass without locks finds the rows that look wrong;
+     * each of them is then locked, recomputed and rewritten in a transaction
+     * of its own, so a booking committed between the two passes is neither
+     * lost nor counted twice.
+     */
+    public int reconcile() {
+        Map<String, Object[]> actual = new HashMap<>();
+        jdbcTemplate.query(FROM_BOOKINGS, rs -> {
+            Object[] row = { rs.getDate(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getDouble(5), rs.getInt(6) };
+            actual.put(rowKey(row), row);
+        });
+        Map<String, Object[]> suspects = new HashMap<>();
+        jdbcTemplate.query("SELECT " + COLUMNS + " FROM booking_daily_stats", rs -> {
+            Object[] row = { rs.getDate(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getDouble(5), rs.getInt(6) };
+            String key = rowKey(row);
+            Object[] expected = actual.remove(key);
+            if (expected == null || !matches(expected, row)) {
+                suspects.put(key, row);
+            }
+        });
+        // Left in actual: rows missing from the table
+        suspects.putAll(actual);
+
+        int fixed = 0;
+        for (Object[] suspect : suspects.values()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    fix((Date) suspect[0], (String) suspect[1], (String) suspect[2])))) {
+                fixed++;
+            }
+        }
+        log.atInfo().addKeyValue("fixed", fixed).log("Booking stats reconciled");
+        return fixed;
+    }
+
+    // Booking writes update the row in their own transaction: holding its lock, the totals read next include
+    // every booking whose write got the row before us, and the ones waiting for it add to what we write
+    private boolean fix(Date date, String barber, String service) {
+        boolean missing = insertEmpty(date, barber, service);
+        Object[] row = jdbcTemplate.queryForObject(LOCK, (rs, n) -> new Object[] {
+                date, barber, service, rs.getInt(1), rs.getDouble(2), rs.getInt(3) }, date, barber, service);
+        Object[] expected = jdbcTemplate.queryForObject(FROM_BOOKINGS_OF_ROW, (rs, n) -> new Object[] {
+                date, barber, service, rs.getInt(1), rs.getDouble(2), rs.getInt(3) },
+                date, barber, service, date, barber, service);
+        if ((int) expected[3] == 0) {
+            jdbcTemplate.update(DELETE, date, barber, service);
+            return !missing;
+        }
+        if (!missing && matches(expected, row)) {
+            return false;
+        }
+        jdbcTemplate.update(SET, expected[3], expected[4], expected[5], date, barber, service);
+        return true;
+    }
+
+    // Returns whether the row was missing; an empty row gives the next statement something to lock
+    private boolean insertEmpty(Date date, String barber, String service) {
+        if (postgres) {
+            return jdbcTemplate.update(INSERT_EMPTY_POSTGRES, date, barber, service) > 0;
+        }
+        try {
+            return jdbcTemplate.update(INSERT, date, barber, service, 0, 0.0, 0) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public static LocalDate periodStart(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static boolean matches(Object[] expected, Object[] row) {
+        return expected[3].equals(row[3]) && expected[5].equals(row[5])
+                && Math.abs((double) expected[4] - (double) row[4]) < REVENUE_TOLERANCE;
+    }
+
+    private static String rowKey(Object[] row) {
+        return row[0] + "|" + row[1] + "|" + row[2];
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value;
+    }
+}
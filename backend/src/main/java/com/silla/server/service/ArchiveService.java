@@ -0,0 +1,128 @@
+package com.silla.server.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves bookings dated more than silla.archive.after-days ago from bookings
+ * to bookings_archive, so availability, reminders, imports and the admin list
+ * keep working on a table holding only recent and future appointments. Rows
+ * move in batches, each copied and deleted in one transaction under its
+ * original id; the admin API reads the archive only when asked to. With
+ * silla.archive.anonymize the customer's name, contacts and message are
+ * dropped on the way, and from rows archived earlier. booking_daily_stats is
+ * left alone: the rollups cover both tables.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final String COLUMNS = "id, barber, service, date, time, name, surname, email, phone, message,"
+            + " price, timestamp, duration_minutes, locale";
+    private static final String COPY = "INSERT INTO bookings_archive (" + COLUMNS + ", archived_at, anonymized)"
+            + " SELECT " + COLUMNS + ", :now, FALSE FROM bookings WHERE id IN (:ids)";
+    private static final String COPY_ANONYMIZED = "INSERT INTO bookings_archive (" + COLUMNS + ", archived_at, anonymized)"
+            + " SELECT id, barber, service, date, time, NULL, NULL, NULL, NULL, NULL,"
+            + " price, timestamp, duration_minutes, locale, :now, TRUE FROM bookings WHERE id IN (:ids)";
+    private static final String ANONYMIZE = "UPDATE bookings_archive SET name = NULL, surname = NULL, email = NULL,"
+            + " phone = NULL, message = NULL, anonymized = TRUE WHERE id IN"
+            + " (SELECT id FROM bookings_archive WHERE anonymized = FALSE ORDER BY id LIMIT :limit)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    // 0 turns the nightly job off; POST /api/bookings/archive still works
+    @Value("${silla.archive.after-days:365}")
+    private int afterDays;
+
+    @Value("${silla.archive.anonymize:false}")
+    private boolean anonymize;
+
+    @Value("${silla.archive.batch-size:1000}")
+    private int batchSize;
+
+    private TransactionTemplate batchTransaction;
+
+    @PostConstruct
+    void init() {
+        // Every batch commits on its own, also when archive() is called inside a transaction
+        batchTransaction = new TransactionTemplate(transactionManager);
+        batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(cron = "${silla.archive.cron:0 0 4 * * *}")
+    public void archiveNightly() {
+        if (afterDays > 0) {
+            clusterCoordinator.runExclusively("booking-archive", () -> archive(defaultCutoff()));
+        }
+    }
+
+    /** First day kept in the live table when archiving without an explicit date. */
+    public LocalDate defaultCutoff() {
+        return LocalDate.now().minusDays(Math.max(afterDays, 1));
+    }
+
+    /** Archives bookings dated before {@code cutoff}, at most {@link #defaultCutoff()}; returns how many moved. */
+    public synchronized int archive(LocalDate cutoff) {
+        if (cutoff.isAfter(defaultCutoff())) {
+            throw new IllegalArgumentException("Only bookings dated before " + defaultCutoff() + " can be archived");
+        }
+        long started = System.nanoTime();
+        int moved = 0;
+        int batch;
+        do {
+            batch = batchTransaction.execute(status -> moveBatch(cutoff));
+            moved += batch;
+        } while (batch == batchSize);
+        int anonymized = 0;
+        if (anonymize) {
+            do {
+                batch = batchTransaction.execute(status -> jdbcTemplate.update(ANONYMIZE, Map.of("limit", batchSize)));
+                anonymized += batch;
+            } while (batch == batchSize);
+        }
+        log.atInfo().addKeyValue("before", cutoff).addKeyValue("archived", moved)
+                .addKeyValue("anonymized", anonymized)
+                .addKeyValue("millis", (System.nanoTime() - started) / 1_000_000)
+                .log("Bookings archived");
+        return moved;
+    }
+
+    private int moveBatch(LocalDate cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM bookings WHERE date < :cutoff ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("cutoff", Date.valueOf(cutoff)).addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // By id rather than by date again: the same rows in both statements whatever commits meanwhile
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(anonymize ? COPY_ANONYMIZED : COPY, params);
+        jdbcTemplate.update("DELETE FROM bookings WHERE id IN (:ids)", params);
+        return ids.size();
+    }
+}
@@ -3,8 +3,11 @@ package com.silla.server.service;
 import com.silla.server.model.User;
 import com.silla.server.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.Optional;
 
 @Service
@@ -19,31 +22,55 @@ public class AuthService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Hashed before the transaction: BCrypt should not hold a pooled connection either
     public User register(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("Email already in use");
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        User savedUser = userRepository.save(user);
-        
-        // Send Welcome Email
-        notificationService.sendWelcomeEmail(savedUser.getEmail(), savedUser.getName());
-        
-        return savedUser;
+        try {
+            return transactionTemplate.execute(status -> {
+                User savedUser = userRepository.save(user);
+
+                // Send Welcome Email
+                notificationService.sendWelcomeEmail(savedUser);
+
+                return savedUser;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.existsByEmail(user.getEmail())) {
+                throw new RuntimeException("Email already in use"); // registered concurrently since the check above
+            }
+            throw e;
+        }
+    }
+
+    public Optional<User> findUser(Long id) {
+        return userRepository.findById(id);
     }
 
+    // Not @Transactional: the BCrypt check should not hold a pooled connection
     public Optional<User> login(String email, String password) {
         Optional<User> user = userRepository.findByEmail(email);
-        if (user.isPresent() && passwordEncoder.matches(password, user.get().getPassword())) {
-            return user;
+        if (user.isEmpty() || !passwordEncoder.matches(password, user.get().getPassword())) {
+            return Optional.empty();
+        }
+        // Rehash with the current encoder/cost while the plain password is at hand
+        if (passwordEncoder.upgradeEncoding(user.get().getPassword())) {
+            user.get().setPassword(passwordEncoder.encode(password));
+            userRepository.save(user.get());
         }
-        return Optional.empty();
+        return user;
     }
 
+    @Transactional
     public void deleteAccount(Long userId) {
         Optional<User> user = userRepository.findById(userId);
         if (user.isPresent()) {
-            notificationService.sendGoodbyeEmail(user.get().getEmail(), user.get().getName());
+            notificationService.sendGoodbyeEmail(user.get());
             userRepository.deleteById(userId);
         } else {
             throw new RuntimeException("User not found");
@@ -0,0 +1,532 @@
+package com.silla.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silla.server.dto.SlotEvent;
+import com.silla.server.dto.SlotSuggestion;
+import com.silla.server.model.Barber;
+import com.silla.server.model.Booking;
+import com.silla.server.model.DayOff;
+import com.silla.server.repository.BarberRepository;
+import com.silla.server.repository.BookingRepository;
+import com.silla.server.repository.DayOffRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory occupancy of the booking grid, one bitmap per barber per day in
+ * 5-minute units, so a booking blocks exactly its service's duration and an
+ * overlap check is a couple of word ANDs. The booking page still sees the
+ * 30-minute grid: a grid slot is reserved when any booking overlaps it.
+ * Days are loaded from the database on first access and then kept in sync by
+ * the booking and day-off controllers, so the booking page never hits H2.
+ * Only days of known barbers from today to silla.availability.cache-days
+ * ahead are kept; other days are read every time, so clients cannot grow
+ * the cache with made-up barbers or dates.
+ * Every change is also pushed to open booking pages via SlotEventBroadcaster,
+ * and to the other nodes of a cluster through ClusterCoordinator.
+ */
+@Service
+public class AvailabilityService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityService.class);
+
+    // Same grid the booking page offers (BookingPage.jsx)
+    public static final int FIRST_SLOT_MINUTES = 9 * 60 + 30;
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOT_COUNT = 20; // 09:30 - 19:00
+
+    public static final int UNIT_MINUTES = 5;
+
+    private static final int UNITS = SLOT_COUNT * SLOT_MINUTES / UNIT_MINUTES; // up to the end of the last slot
+    private static final int UNITS_PER_SLOT = SLOT_MINUTES / UNIT_MINUTES;
+    private static final int WORDS = (UNITS + 63) / 64;
+    private static final long ALL_SLOTS = (1L << SLOT_COUNT) - 1;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DayOffRepository dayOffRepository;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Value("${silla.availability.warmup-days:0}")
+    private int warmupDays;
+
+    @Value("${silla.availability.cache-days:366}")
+    private int cacheDays;
+
+    @Autowired
+    private SlotEventBroadcaster slotEventBroadcaster;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, DaySlots> days = new ConcurrentHashMap<>();
+
+    // Bumped by every change to the cached days, so a range read that raced a write is not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    public List<String> getReservedTimes(String barber, LocalDate date) {
+        return toTimes(load(barber, date).slots);
+    }
+
+    public List<String> getFreeTimes(String barber, LocalDate date) {
+        DaySlots day = load(barber, date);
+        return day.dayOff ? new ArrayList<>() : toTimes(~day.slots & ALL_SLOTS);
+    }
+
+    public boolean isDayOff(String barber, LocalDate date) {
+        return load(barber, date).dayOff;
+    }
+
+    public boolean isKnownBarber(String barber) {
+        return barberRepository.findAll().stream().anyMatch(known -> known.getId().equals(barber));
+    }
+
+    /**
+     * Whether {@code minutes} starting at {@code time} are free. Within opening
+     * hours the appointment must also end by closing time; times entirely
+     * outside the grid (set by hand from the admin page) are not tracked.
+     */
+    public boolean fits(String barber, LocalDate date, LocalTime time, int minutes) {
+        return time == null || fits(load(barber, date).units, time, minutes);
+    }
+
+    /** Drops every cached day, e.g. after bookings were written in bulk. */
+    public void invalidateAll() {
+        changes.incrementAndGet();
+        days.clear();
+    }
+
+    // Occupancy bitmaps for callers checking many bookings outside the cache (BookingImportService)
+    static long[] emptyDay() {
+        return new long[WORDS];
+    }
+
+    static boolean fits(long[] units, LocalTime time, int minutes) {
+        int start = time.getHour() * 60 + time.getMinute() - FIRST_SLOT_MINUTES;
+        if (start >= 0 && start < UNITS * UNIT_MINUTES && start + minutes > UNITS * UNIT_MINUTES) {
+            return false;
+        }
+        int from = Math.max(0, Math.floorDiv(start, UNIT_MINUTES));
+        int to = Math.min(UNITS, Math.floorDiv(start + minutes + UNIT_MINUTES - 1, UNIT_MINUTES));
+        return from >= to || !overlaps(units, from, to);
+    }
+
+    static void occupy(long[] units, Booking booking) {
+        int[] span = span(booking);
+        if (span != null) {
+            fill(units, span[0], span[1]);
+        }
+    }
+
+    public void onBookingCreated(Booking booking) {
+        LocalDate date = booking.getDate();
+        long covered = slotsOf(booking);
+        if (booking.getBarber() == null || date == null || covered == 0) {
+            return;
+        }
+        changes.incrementAndGet();
+        days.computeIfPresent(key(booking.getBarber(), date), (k, day) -> day.with(booking));
+        for (long bits = covered; bits != 0; bits &= bits - 1) {
+            publish(new SlotEvent(SlotEvent.SLOT_TAKEN, booking.getBarber(), date,
+                    slotTime(Long.numberOfTrailingZeros(bits)).toString()));
+        }
+    }
+
+    public void onBookingDeleted(Booking booking) {
+        // Other bookings may still overlap the same grid slots, so reload rather than clear bits
+        LocalDate date = booking.getDate();
+        if (booking.getBarber() != null && date != null) {
+            DaySlots day = refresh(booking.getBarber(), date);
+            for (long bits = slotsOf(booking) & ~day.slots; bits != 0; bits &= bits - 1) {
+                publish(new SlotEvent(SlotEvent.SLOT_FREED, booking.getBarber(), date,
+                        slotTime(Long.numberOfTrailingZeros(bits)).toString()));
+            }
+        }
+    }
+
+    public void onDayOffAdded(String barberId, LocalDate date) {
+        changes.incrementAndGet();
+        days.computeIfPresent(key(barberId, date), (k, day) -> new DaySlots(day.date, day.units, true));
+        publish(new SlotEvent(SlotEvent.DAY_OFF_ADDED, barberId, date, null));
+    }
+
+    public void onDayOffRemoved(String barberId, LocalDate date) {
+        // Duplicate day-off rows may exist for the same date, so reload
+        if (!refresh(barberId, date).dayOff) {
+            publish(new SlotEvent(SlotEvent.DAY_OFF_REMOVED, barberId, date, null));
+        }
+    }
+
+    @PostConstruct
+    void registerGauge() {
+        Gauge.builder("silla.availability.cached.days", days, Map::size)
+                .description("Barber days held in memory")
+                .register(meterRegistry);
+    }
+
+    // Another node changed a day: re-read it if cached here and tell this node's booking pages
+    @PostConstruct
+    void subscribeToCluster() {
+        clusterCoordinator.subscribe(ClusterCoordinator.TOPIC_SLOT, payload -> {
+            if (ClusterCoordinator.RESYNC.equals(payload)) {
+                invalidateAll();
+                return;
+            }
+            SlotEvent event;
+            try {
+                event = objectMapper.readValue(payload, SlotEvent.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Bad slot event: " + payload, e);
+            }
+            if (days.containsKey(key(event.getBarber(), event.getDate()))) {
+                refresh(event.getBarber(), event.getDate());
+            }
+            slotEventBroadcaster.publish(event);
+        });
+    }
+
+    /**
+     * Loads the next warmup-days of every barber with two range queries. Runs
+     * before the web server opens its port, so no booking can change a day
+     * between the query and the cache fill.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (warmupDays <= 0) {
+            return;
+        }
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(warmupDays - 1);
+        List<String> barberIds = barberRepository.findAll().stream().map(Barber::getId).toList();
+        Map<String, DaySlots> loaded = readRange(barberIds, from, to);
+        loaded.forEach(days::putIfAbsent);
+        log.atInfo()
+                .addKeyValue("days", loaded.size())
+                .log("Warmed up availability");
+    }
+
+    /**
+     * The earliest {@code count} grid starts with {@code minutes} free, from
+     * {@code from} to {@code to}, across the given barbers (all when null),
+     * ordered by date, time and barber. Days not cached yet are read with two
+     * range queries; then each barber's days are scanned as bitmaps, the
+     * barbers in parallel. Slots that already started today are skipped.
+     */
+    public List<SlotSuggestion> suggest(Collection<String> barberIds, LocalDate from, LocalDate to, int minutes,
+            int count, LocalDateTime now) {
+        // Unknown ids would only fill the cache with empty days
+        List<String> barbers = barberRepository.findAll().stream().map(Barber::getId)
+                .filter(id -> barberIds == null || barberIds.contains(id))
+                .toList();
+        LocalDate start = from.isBefore(now.toLocalDate()) ? now.toLocalDate() : from;
+        if (barbers.isEmpty() || start.isAfter(to)) {
+            return List.of();
+        }
+
+        Map<String, DaySlots> loaded = Map.of();
+        List<String> missing = barbers.stream().filter(barber -> !isCached(barber, start, to)).toList();
+        if (!missing.isEmpty()) {
+            long version = changes.get();
+            loaded = readRange(missing, start, to);
+            if (changes.get() == version) {
+                loaded.forEach((key, day) -> {
+                    if (inCachedWindow(day.date)) {
+                        days.putIfAbsent(key, day);
+                    }
+                });
+            }
+        }
+        Map<String, DaySlots> read = loaded;
+        return barbers.parallelStream()
+                .flatMap(barber -> scan(barber, start, to, minutes, count, now, read).stream())
+                .sorted(Comparator.comparing(SlotSuggestion::getDate)
+                        .thenComparing(SlotSuggestion::getTime)
+                        .thenComparing(SlotSuggestion::getBarber))
+                .limit(count)
+                .toList();
+    }
+
+    // Past days are never requested by the booking page, drop them nightly
+    @Scheduled(cron = "0 0 3 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        days.values().removeIf(day -> day.date.isBefore(today));
+    }
+
+    public static int slotIndex(LocalTime time) {
+        if (time == null) {
+            return -1;
+        }
+        int offset = time.getHour() * 60 + time.getMinute() - FIRST_SLOT_MINUTES;
+        if (offset < 0) {
+            return -1;
+        }
+        int slot = offset / SLOT_MINUTES;
+        return slot < SLOT_COUNT ? slot : -1;
+    }
+
+    public static LocalTime slotTime(int slot) {
+        return LocalTime.MIN.plusMinutes(FIRST_SLOT_MINUTES + (long) slot * SLOT_MINUTES);
+    }
+
+    private void publish(SlotEvent event) {
+        slotEventBroadcaster.publish(event);
+        try {
+            clusterCoordinator.broadcast(ClusterCoordinator.TOPIC_SLOT, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // One barber's earliest `count` starts, in date/time order
+    private List<SlotSuggestion> scan(String barber, LocalDate from, LocalDate to, int minutes, int count,
+            LocalDateTime now, Map<String, DaySlots> read) {
+        List<SlotSuggestion> found = new ArrayList<>(count);
+        int length = (minutes + UNIT_MINUTES - 1) / UNIT_MINUTES;
+        // Starts late enough in the day that the service would run past closing are never candidates
+        long candidates = ALL_SLOTS;
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if (slot * UNITS_PER_SLOT + length > UNITS) {
+                candidates &= ~(1L << slot);
+            }
+        }
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            String key = key(barber, date);
+            DaySlots day = days.get(key);
+            if (day == null) {
+                day = read.get(key);
+            }
+            if (day == null) {
+                day = load(barber, date); // evicted meanwhile
+            }
+            if (day.dayOff) {
+                continue;
+            }
+            // A start must at least have its own grid slot free
+            long starts = candidates & ~day.slots;
+            if (date.equals(now.toLocalDate())) {
+                starts &= startingAfter(now.toLocalTime());
+            }
+            for (long bits = starts; bits != 0; bits &= bits - 1) {
+                int slot = Long.numberOfTrailingZeros(bits);
+                if (overlaps(day.units, slot * UNITS_PER_SLOT, slot * UNITS_PER_SLOT + length)) {
+                    continue;
+                }
+                found.add(new SlotSuggestion(barber, date, slotTime(slot).toString()));
+                if (found.size() == count) {
+                    return found;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static long startingAfter(LocalTime time) {
+        int offset = time.getHour() * 60 + time.getMinute() - FIRST_SLOT_MINUTES;
+        if (offset < 0) {
+            return ALL_SLOTS;
+        }
+        int first = Math.min(offset / SLOT_MINUTES + 1, SLOT_COUNT);
+        return ALL_SLOTS & ~((1L << first) - 1);
+    }
+
+    private boolean isCached(String barber, LocalDate from, LocalDate to) {
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!days.containsKey(key(barber, date))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Every day of the given barbers in [from, to], with two range queries
+    private Map<String, DaySlots> readRange(List<String> barberIds, LocalDate from, LocalDate to) {
+        Map<String, DaySlots> loaded = new HashMap<>();
+        for (String barberId : barberIds) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                loaded.put(key(barberId, date), new DaySlots(date, new long[WORDS], false));
+            }
+        }
+        List<Booking> bookings = barberIds.size() == 1
+                ? bookingRepository.findByBarberAndDateBetween(barberIds.get(0), from, to)
+                : bookingRepository.findByDateBetween(from, to);
+        for (Booking booking : bookings) {
+            loaded.computeIfPresent(key(booking.getBarber(), booking.getDate()), (k, day) -> day.with(booking));
+        }
+        for (DayOff dayOff : dayOffRepository.findByBarberIdInAndDateBetween(barberIds, from, to)) {
+            loaded.computeIfPresent(key(dayOff.getBarberId(), dayOff.getDate()),
+                    (k, day) -> new DaySlots(day.date, day.units, true));
+        }
+        return loaded;
+    }
+
+    private DaySlots load(String barber, LocalDate date) {
+        DaySlots day = days.get(key(barber, date));
+        if (day != null) {
+            return day;
+        }
+        if (!inCachedWindow(date) || !isKnownBarber(barber)) {
+            return read(barber, date);
+        }
+        return days.computeIfAbsent(key(barber, date), k -> read(barber, date));
+    }
+
+    private boolean inCachedWindow(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(cacheDays));
+    }
+
+    // Re-reads a day right after a write. The read-write transaction keeps it on the
+    // primary, where a lagging replica could still show the deleted row.
+    DaySlots refresh(String barber, LocalDate date) {
+        changes.incrementAndGet();
+        DaySlots day = transactionTemplate.execute(status -> read(barber, date));
+        if (days.containsKey(key(barber, date)) || (inCachedWindow(date) && isKnownBarber(barber))) {
+            days.put(key(barber, date), day);
+        }
+        return day;
+    }
+
+    private DaySlots read(String barber, LocalDate date) {
+        long[] units = new long[WORDS];
+        for (Booking booking : bookingRepository.findByDateAndBarber(date, barber)) {
+            occupy(units, booking);
+        }
+        boolean dayOff = !dayOffRepository.findByBarberIdAndDate(barber, date).isEmpty();
+        return new DaySlots(date, units, dayOff);
+    }
+
+    /** Minutes a booking blocks; bookings made before the service catalog take one slot. */
+    public static int durationOf(Booking booking) {
+        Integer minutes = booking.getDurationMinutes();
+        return minutes == null || minutes <= 0 ? SLOT_MINUTES : minutes;
+    }
+
+    // [from, to) in units, clipped to the grid; null when the booking lies outside it
+    private static int[] span(Booking booking) {
+        if (booking.getTime() == null) {
+            return null;
+        }
+        int start = booking.getTime().getHour() * 60 + booking.getTime().getMinute() - FIRST_SLOT_MINUTES;
+        int from = Math.max(0, Math.floorDiv(start, UNIT_MINUTES));
+        int to = Math.min(UNITS, Math.floorDiv(start + durationOf(booking) + UNIT_MINUTES - 1, UNIT_MINUTES));
+        return from < to ? new int[] { from, to } : null;
+    }
+
+    // Grid slots a booking overlaps
+    private static long slotsOf(Booking booking) {
+        int[] span = span(booking);
+        if (span == null) {
+            return 0;
+        }
+        long[] units = new long[WORDS];
+        fill(units, span[0], span[1]);
+        return gridSlots(units);
+    }
+
+    private static long gridSlots(long[] units) {
+        long slots = 0;
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if (overlaps(units, slot * UNITS_PER_SLOT, (slot + 1) * UNITS_PER_SLOT)) {
+                slots |= 1L << slot;
+            }
+        }
+        return slots;
+    }
+
+    // Any unit in [from, to) set; touches at most WORDS words
+    private static boolean overlaps(long[] units, int from, int to) {
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            if ((units[word] & wordMask(word, from, to)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void fill(long[] units, int from, int to) {
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            units[word] |= wordMask(word, from, to);
+        }
+    }
+
+    // Bits of [from, to) that fall in the given word
+    private static long wordMask(int word, int from, int to) {
+        int low = Math.max(from - word * 64, 0);
+        int high = Math.min(to - word * 64, 64);
+        long upTo = high == 64 ? -1L : (1L << high) - 1;
+        return upTo & -(1L << low);
+    }
+
+    private static List<String> toTimes(long mask) {
+        List<String> times = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            times.add(slotTime(Long.numberOfTrailingZeros(bits)).toString());
+        }
+        return times;
+    }
+
+    private static String key(String barber, LocalDate date) {
+        return barber + '|' + date;
+    }
+
+    // Immutable: writers swap in a new instance
+    private static final class DaySlots {
+        final LocalDate date;
+        final long[] units; // 5-minute units from the first slot
+        final long slots; // grid slots overlapped by any booking
+        final boolean dayOff;
+
+        DaySlots(LocalDate date, long[] units, boolean dayOff) {
+            this.date = date;
+            this.units = units;
+            this.slots = gridSlots(units);
+            this.dayOff = dayOff;
+        }
+
+        DaySlots with(Booking booking) {
+            int[] span = span(booking);
+            if (span == null) {
+                return this;
+            }
+            long[] copy = units.clone();
+            fill(copy, span[0], span[1]);
+            return new DaySlots(date, copy, dayOff);
+        }
+    }
+}
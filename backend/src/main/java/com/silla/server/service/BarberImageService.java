@@ -0,0 +1,349 @@
+package com.silla.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.silla.server.model.Barber;
+import com.silla.server.model.BarberImage;
+import com.silla.server.repository.BarberImageRepository;
+import com.silla.server.repository.BarberRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Stores barber portraits in barber_images and serves them, optionally
+ * downscaled, from a cache bounded by total bytes. Barber.img only carries
+ * the versioned image URL ({@code /api/barbers/{id}/image?v=...}). Only JPEG,
+ * PNG and WebP are accepted, recognized from the bytes themselves whatever
+ * the upload claims, and images are checked for their pixel size before
+ * anything is decoded.
+ */
+@Service
+public class BarberImageService {
+
+    public static final String IMAGE_PATH_PREFIX = "/api/barbers/";
+
+    private static final Logger log = LoggerFactory.getLogger(BarberImageService.class);
+
+    // Requested widths are rounded up to one of these so the cache stays small
+    private static final int[] VARIANT_WIDTHS = { 64, 128, 256, 512, 1024 };
+    // A decoded image takes 4 bytes per pixel, so this caps a decode at ~100 MB
+    private static final long MAX_PIXELS = 25_000_000;
+    private static final int MAX_SIDE = 10_000;
+
+    public static final String JPEG = "image/jpeg";
+    public static final String PNG = "image/png";
+    public static final String WEBP = "image/webp";
+
+    @Autowired
+    private BarberImageRepository barberImageRepository;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    @Value("${silla.images.cache-max-bytes:33554432}")
+    private long cacheMaxBytes;
+
+    private Cache<String, ImageVariant> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String key, ImageVariant variant) -> variant.getData().length)
+                .build();
+        clusterCoordinator.subscribe(ClusterCoordinator.TOPIC_IMAGE, barberId -> {
+            if (ClusterCoordinator.RESYNC.equals(barberId)) {
+                cache.invalidateAll();
+            } else {
+                evictLocal(barberId);
+            }
+        });
+    }
+
+    /**
+     * If {@code img} is a Base64 data URL, stores its bytes and returns the
+     * image URL to keep on the barber; any other value is returned unchanged.
+     */
+    @Transactional
+    public String storeIfInline(String barberId, String img) {
+        if (img == null || !img.startsWith("data:")) {
+            return img;
+        }
+        int comma = img.indexOf(',');
+        String header = comma < 0 ? "" : img.substring(5, comma);
+        if (!header.endsWith(";base64")) {
+            throw new IllegalArgumentException("Unsupported image data URL");
+        }
+        byte[] data;
+        try {
+            data = Base64.getMimeDecoder().decode(img.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid Base64 image");
+        }
+        return store(barberId, data);
+    }
+
+    /** Stores a JPEG, PNG or WebP portrait; the type is taken from the bytes, never from the client. */
+    @Transactional
+    public String store(String barberId, byte[] data) {
+        if (data.length == 0 || data.length > BarberImage.MAX_BYTES) {
+            throw new IllegalArgumentException("Image must be between 1 byte and " + BarberImage.MAX_BYTES + " bytes");
+        }
+        String contentType = detectContentType(data);
+        if (contentType == null) {
+            throw new IllegalArgumentException("Only JPEG, PNG and WebP images are accepted");
+        }
+        // WebP is never decoded here, only served as uploaded
+        if (!WEBP.equals(contentType) && !withinBounds(data)) {
+            throw new IllegalArgumentException("Image must be at most " + MAX_SIDE + " pixels wide and high and "
+                    + MAX_PIXELS + " pixels in total");
+        }
+        String etag = sha256(data);
+        barberImageRepository.save(new BarberImage(barberId, contentType, data, etag, LocalDateTime.now()));
+        evict(barberId);
+        return imagePath(barberId, etag);
+    }
+
+    @Transactional
+    public void delete(String barberId) {
+        if (barberImageRepository.existsById(barberId)) {
+            barberImageRepository.deleteById(barberId);
+        }
+        evict(barberId);
+    }
+
+    /**
+     * The portrait at the variant width for {@code width}. A {@code version}
+     * (the ?v= of the image URL) that the cached copy does not match means
+     * the cache missed an upload, so the image is read again.
+     */
+    public Optional<ImageVariant> load(String barberId, Integer width, String version) {
+        int variantWidth = variantWidth(width);
+        String key = barberId + '|' + variantWidth;
+        ImageVariant cached = cache.getIfPresent(key);
+        if (cached != null && (version == null || cached.getEtag().startsWith(version))) {
+            return Optional.of(cached);
+        }
+        Optional<ImageVariant> loaded = barberImageRepository.findById(barberId)
+                .map(image -> variant(image, variantWidth));
+        loaded.ifPresent(variant -> cache.put(key, variant));
+        return loaded;
+    }
+
+    /**
+     * Moves Base64 portraits still inlined in barbers.img into barber_images.
+     */
+    @Transactional
+    public int migrateInlineImages() {
+        int migrated = 0;
+        for (Barber barber : barberRepository.findAll()) {
+            if (barber.getImg() != null && barber.getImg().startsWith("data:")) {
+                try {
+                    barber.setImg(storeIfInline(barber.getId(), barber.getImg()));
+                    barberRepository.save(barber);
+                    migrated++;
+                } catch (IllegalArgumentException e) {
+                    log.warn("Could not migrate image of barber {}: {}", barber.getId(), e.getMessage());
+                }
+            }
+        }
+        return migrated;
+    }
+
+    public static boolean isImagePath(String img) {
+        return img != null && img.startsWith(IMAGE_PATH_PREFIX);
+    }
+
+    private static String imagePath(String barberId, String etag) {
+        return IMAGE_PATH_PREFIX + barberId + "/image?v=" + etag.substring(0, 12);
+    }
+
+    // After the commit, like the broadcast, so a load() in between cannot cache the old image again
+    private void evict(String barberId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(barberId);
+                }
+            });
+        } else {
+            evictLocal(barberId);
+        }
+        clusterCoordinator.broadcast(ClusterCoordinator.TOPIC_IMAGE, barberId);
+    }
+
+    private void evictLocal(String barberId) {
+        String prefix = barberId + '|';
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static int variantWidth(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return 0; // original
+        }
+        for (int width : VARIANT_WIDTHS) {
+            if (requested <= width) {
+                return width;
+            }
+        }
+        return 0;
+    }
+
+    private static ImageVariant variant(BarberImage image, int width) {
+        long lastModified = image.getUpdatedAt() == null ? 0
+                : image.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // Rows stored before uploads were checked are served by what they really are
+        String contentType = detectContentType(image.getData());
+        ImageVariant original = new ImageVariant(image.getData(),
+                contentType == null ? "application/octet-stream" : contentType, image.getEtag(), lastModified);
+        String format = formatOf(contentType);
+        if (width == 0 || format == null || !withinBounds(image.getData())) {
+            return original;
+        }
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(image.getData()));
+            if (source == null || source.getWidth() <= width) {
+                return original;
+            }
+            int height = Math.max(1, Math.round(source.getHeight() * (width / (float) source.getWidth())));
+            int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+            BufferedImage scaled = new BufferedImage(width, height, type);
+            Graphics2D g = scaled.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(scaled, format, out);
+            return new ImageVariant(out.toByteArray(), contentType, image.getEtag() + "-w" + width, lastModified);
+        } catch (IOException e) {
+            return original;
+        }
+    }
+
+    // Formats ImageIO can both read and write; WebP is served as-is
+    private static String formatOf(String contentType) {
+        if (PNG.equals(contentType)) {
+            return "png";
+        }
+        if (JPEG.equals(contentType)) {
+            return "jpg";
+        }
+        return null;
+    }
+
+    /** JPEG, PNG or WebP by their signature bytes; null for anything else. */
+    public static String detectContentType(byte[] data) {
+        if (startsWith(data, 0, 0xFF, 0xD8, 0xFF)) {
+            return JPEG;
+        }
+        if (startsWith(data, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return PNG;
+        }
+        if (startsWith(data, 0, 'R', 'I', 'F', 'F') && startsWith(data, 8, 'W', 'E', 'B', 'P')) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... signature) {
+        if (data.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((data[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Reads the dimensions from the header only, so a small file claiming a huge image is never decoded
+    private static boolean withinBounds(byte[] data) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return false;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                return width <= MAX_SIDE && height <= MAX_SIDE && width * height <= MAX_PIXELS;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class ImageVariant {
+        private final byte[] data;
+        private final String contentType;
+        private final String etag;
+        private final long lastModified;
+
+        public ImageVariant(byte[] data, String contentType, String etag, long lastModified) {
+            this.data = data;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.silla.server.service;
+
+import com.silla.server.model.Booking;
+import com.silla.server.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Admits bookings one slot at a time. Writes are serialized per barber+date
+ * through the ClusterCoordinator admission lock (one in-process lock per key on a
+ * single node, advisory locks in the database in a cluster), so different
+ * barbers and days proceed in parallel. In a cluster the day is re-read from
+ * the database under the lock, since another node may just have booked it.
+ * The unique constraint on bookings(barber, date, time) is the backstop if a
+ * conflict slips through. The confirmation/cancellation email is queued in the
+ * same transaction, and ReminderService is told about the change.
+ */
+@Service
+public class BookingAdmissionService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    public Booking admit(Booking booking) {
+        if (booking.getBarber() == null || booking.getDate() == null) {
+            return save(booking);
+        }
+        String barber = booking.getBarber();
+        LocalDate date = booking.getDate();
+        return clusterCoordinator.withAdmissionLock(barber, date, () -> {
+            if (clusterCoordinator.isDistributed()) {
+                availabilityService.refresh(barber, date);
+            }
+            if (availabilityService.isDayOff(barber, date)
+                    || !availabilityService.fits(barber, date, booking.getTime(),
+                            AvailabilityService.durationOf(booking))) {
+                throw new SlotUnavailableException("Slot already taken");
+            }
+            Booking saved = save(booking);
+            availabilityService.onBookingCreated(saved);
+            return saved;
+        });
+    }
+
+    public Optional<Booking> cancel(Long id) {
+        Optional<Booking> existing = bookingRepository.findById(id);
+        if (existing.isEmpty()) {
+            return existing;
+        }
+        Booking booking = existing.get();
+        if (booking.getBarber() == null || booking.getDate() == null) {
+            delete(booking);
+            return existing;
+        }
+        return clusterCoordinator.withAdmissionLock(booking.getBarber(), booking.getDate(), () -> {
+            if (clusterCoordinator.isDistributed() && !bookingRepository.existsById(id)) {
+                return Optional.<Booking>empty(); // cancelled on another node meanwhile
+            }
+            delete(booking);
+            availabilityService.onBookingDeleted(booking);
+            return existing;
+        });
+    }
+
+    private Booking save(Booking booking) {
+        try {
+            return transactionTemplate.execute(status -> {
+                booking.setReminderStage(ReminderService.initialStage(booking, LocalDateTime.now()));
+                Booking saved = bookingRepository.save(booking);
+                analyticsService.onBookingCreated(saved);
+                notificationService.sendBookingConfirmation(saved);
+                reminderService.onBookingCreated(saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new SlotUnavailableException("Slot already taken");
+        }
+    }
+
+    private void delete(Booking booking) {
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingRepository.delete(booking);
+            analyticsService.onBookingDeleted(booking);
+            notificationService.sendBookingCancellation(booking);
+            reminderService.onBookingDeleted(booking.getId());
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.silla.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silla.server.model.ArchivedBooking;
+import com.silla.server.model.Booking;
+import com.silla.server.repository.ArchivedBookingRepository;
+import com.silla.server.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes bookings straight from a database cursor to the response, one row
+ * at a time, so exports run in bounded heap whatever the date range.
+ */
+@Service
+public class BookingExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String CSV_HEADER =
+            "id,barber,service,date,time,name,surname,email,phone,message,price,timestamp,durationMinutes,locale";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Archived bookings, when included, come first: they are older than any live one. */
+    @Transactional(readOnly = true)
+    public void export(LocalDate from, LocalDate to, Format format, boolean includeArchived, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        if (includeArchived) {
+            try (Stream<ArchivedBooking> archived = archivedBookingRepository.streamByDateRange(from, to)) {
+                Iterator<ArchivedBooking> it = archived.iterator();
+                int count = 0;
+                while (it.hasNext()) {
+                    ArchivedBooking booking = it.next();
+                    write(writer, format, booking.toBooking());
+                    entityManager.detach(booking);
+                    if (++count % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+            }
+        }
+        try (Stream<Booking> bookings = bookingRepository.streamByDateRange(from, to)) {
+            Iterator<Booking> it = bookings.iterator();
+            int count = 0;
+            while (it.hasNext()) {
+                Booking booking = it.next();
+                write(writer, format, booking);
+                // Keep the persistence context from growing with the export
+                entityManager.detach(booking);
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void write(Writer writer, Format format, Booking booking) throws IOException {
+        if (format == Format.CSV) {
+            writeCsv(writer, booking);
+        } else {
+            writer.write(objectMapper.writeValueAsString(booking));
+            writer.write('\n');
+        }
+    }
+
+    private static void writeCsv(Writer writer, Booking b) throws IOException {
+        writer.write(String.valueOf(b.getId()));
+        writer.write(',');
+        writeCsvField(writer, b.getBarber());
+        writer.write(',');
+        writeCsvField(writer, b.getService());
+        writer.write(',');
+        writeCsvField(writer, b.getDate() == null ? null : b.getDate().toString());
+        writer.write(',');
+        writeCsvField(writer, b.getTime() == null ? null : b.getTime().toString());
+        writer.write(',');
+        writeCsvField(writer, b.getName());
+        writer.write(',');
+        writeCsvField(writer, b.getSurname());
+        writer.write(',');
+        writeCsvField(writer, b.getEmail());
+        writer.write(',');
+        writeCsvField(writer, b.getPhone());
+        writer.write(',');
+        writeCsvField(writer, b.getMessage());
+        writer.write(',');
+        writer.write(String.valueOf(b.getPrice()));
+        writer.write(',');
+        writeCsvField(writer, b.getTimestamp() == null ? null : b.getTimestamp().toString());
+        writer.write(',');
+        writeCsvField(writer, b.getDurationMinutes() == null ? null : b.getDurationMinutes().toString());
+        writer.write(',');
+        writeCsvField(writer, b.getLocale());
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,552 @@
+package com.silla.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silla.server.dto.ImportReport;
+import com.silla.server.model.Barber;
+import com.silla.server.model.Booking;
+import com.silla.server.model.ServiceOffering;
+import com.silla.server.repository.BarberRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bulk load of bookings from NDJSON or CSV (the columns of the CSV export,
+ * matched by header name), for migrations and restores. The upload is read as
+ * a stream, {@code silla.import.chunk-size} rows at a time. Rows are checked
+ * against day-offs and against the bookings already stored or earlier in the
+ * file with the same 5-minute occupancy bitmaps as admission; the valid rows
+ * of a chunk go in as one JDBC batch in their own transaction, together with
+ * their analytics rollups and, if asked for, the confirmation emails of future
+ * appointments. Rejected rows are reported by line and skipped.
+ *
+ * Each chunk is checked and written holding the admission locks of its
+ * barbers and days, against bookings read after taking them, so bookings made
+ * meanwhile on the booking page are seen and none can slip in between. If the
+ * batch still fails, the chunk's rows are retried one at a time.
+ *
+ * Price and duration default to the service catalog; a row of a service no
+ * longer in the catalog needs its own price, and a barber must offer the
+ * service.
+ */
+@Service
+public class BookingImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingImportService.class);
+
+    private static final String INSERT = "INSERT INTO bookings (barber, service, date, time, name, surname, email,"
+            + " phone, message, price, timestamp, locale, reminder_stage, duration_minutes)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = { Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.TIME, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.TIMESTAMP, Types.VARCHAR,
+            Types.INTEGER, Types.INTEGER };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    @Value("${silla.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${silla.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    void init() {
+        // Commits inside the admission locks, which on PostgreSQL belong to a transaction of their own
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Imports the rows of {@code in}. With {@code notify} future appointments
+     * get their confirmation email through the outbox; otherwise nobody is
+     * emailed. A {@code dryRun} validates the whole file and writes nothing.
+     */
+    public ImportReport importBookings(InputStream in, BookingExportService.Format format, boolean notify,
+            boolean dryRun) throws IOException {
+        long started = System.currentTimeMillis();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RowReader rows = format == BookingExportService.Format.CSV ? new CsvReader(reader) : new NdjsonReader(reader);
+        Import run = new Import(notify, dryRun);
+        run.report.setDryRun(dryRun);
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        for (Row row = rows.next(); row != null; row = rows.next()) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                run.process(chunk);
+                chunk.clear();
+            }
+        }
+        run.process(chunk);
+
+        if (!dryRun && run.report.getImported() > 0) {
+            // Cached days and the reminder wheel know nothing of the new rows
+            availabilityService.invalidateAll();
+            reminderService.rebuild();
+            clusterCoordinator.broadcast(ClusterCoordinator.TOPIC_SLOT, ClusterCoordinator.RESYNC);
+        }
+        run.report.setMillis(System.currentTimeMillis() - started);
+        log.atInfo().addKeyValue("read", run.report.getRead()).addKeyValue("imported", run.report.getImported())
+                .addKeyValue("rejected", run.report.getRejected()).addKeyValue("dryRun", dryRun)
+                .addKeyValue("millis", run.report.getMillis()).log("Bookings imported");
+        return run.report;
+    }
+
+    // State of one upload: what is known to be occupied, and the report
+    private final class Import {
+        final boolean notify;
+        final boolean dryRun;
+        final ImportReport report = new ImportReport();
+        final Set<String> barbers = new HashSet<>();
+        final Map<String, long[]> occupied = new HashMap<>(); // barber|date -> 5-minute units
+        final Set<String> starts = new HashSet<>(); // barber|date|time, also for times outside the grid
+        final Set<String> daysOff = new HashSet<>(); // barber|date
+        final Set<LocalDate> loaded = new HashSet<>();
+        final LocalDateTime now = LocalDateTime.now();
+
+        Import(boolean notify, boolean dryRun) {
+            this.notify = notify;
+            this.dryRun = dryRun;
+            for (Barber barber : barberRepository.findAll()) {
+                barbers.add(barber.getId());
+            }
+        }
+
+        void process(List<Row> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            if (dryRun) {
+                report.setImported(report.getImported() + check(chunk).size());
+                return;
+            }
+            clusterCoordinator.withAdmissionLocks(days(chunk), () -> {
+                // Earlier chunks are stored by now, and others may have booked meanwhile: read it all again
+                occupied.clear();
+                starts.clear();
+                daysOff.clear();
+                loaded.clear();
+                List<Row> valid = check(chunk);
+                if (!valid.isEmpty()) {
+                    store(valid);
+                }
+                return null;
+            });
+        }
+
+        // The rows of the chunk that can be imported; the others are rejected
+        List<Row> check(List<Row> chunk) {
+            load(chunk);
+            List<Row> valid = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                report.setRead(report.getRead() + 1);
+                String error = row.error != null ? row.error : admit(row.booking);
+                if (error != null) {
+                    reject(row.line, error);
+                } else {
+                    valid.add(row);
+                }
+            }
+            return valid;
+        }
+
+        void store(List<Row> valid) {
+            try {
+                chunkTransaction.executeWithoutResult(status -> insert(valid));
+                report.setImported(report.getImported() + valid.size());
+            } catch (DataAccessException e) {
+                // One bad row, e.g. a value too long for its column, must not cost the others
+                log.warn("Import chunk failed, retrying its {} rows one by one: {}", valid.size(),
+                        e.getMostSpecificCause().getMessage());
+                for (Row row : valid) {
+                    try {
+                        chunkTransaction.executeWithoutResult(status -> insert(List.of(row)));
+                        report.setImported(report.getImported() + 1);
+                    } catch (DataAccessException rowFailure) {
+                        reject(row.line, "Not imported: " + rowFailure.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+
+        Map<String, Set<LocalDate>> days(List<Row> chunk) {
+            Map<String, Set<LocalDate>> days = new HashMap<>();
+            for (Row row : chunk) {
+                Booking booking = row.booking;
+                if (booking != null && booking.getBarber() != null && booking.getDate() != null) {
+                    days.computeIfAbsent(booking.getBarber(), barber -> new HashSet<>()).add(booking.getDate());
+                }
+            }
+            return days;
+        }
+
+        // Reads bookings and day-offs of the chunk's dates that have not been read yet
+        void load(List<Row> chunk) {
+            Set<LocalDate> dates = new TreeSet<>();
+            for (Row row : chunk) {
+                LocalDate date = row.booking == null ? null : row.booking.getDate();
+                if (date != null && !loaded.contains(date)) {
+                    dates.add(date);
+                }
+            }
+            if (dates.isEmpty()) {
+                return;
+            }
+            // Old dates may already have been moved to the archive
+            Map<String, Object> params = Map.of("dates", dates.stream().map(Date::valueOf).toList());
+            namedParameterJdbcTemplate.query("SELECT barber, date, time, duration_minutes FROM bookings"
+                    + " WHERE barber IS NOT NULL AND date IN (:dates)"
+                    + " UNION ALL SELECT barber, date, time, duration_minutes FROM bookings_archive"
+                    + " WHERE barber IS NOT NULL AND date IN (:dates)", params, rs -> {
+                        Booking existing = new Booking();
+                        existing.setBarber(rs.getString(1));
+                        existing.setDate(rs.getDate(2).toLocalDate());
+                        existing.setTime(rs.getTime(3) == null ? null : rs.getTime(3).toLocalTime());
+                        existing.setDurationMinutes(rs.getObject(4) == null ? null : rs.getInt(4));
+                        occupy(existing);
+                    });
+            namedParameterJdbcTemplate.query("SELECT barber_id, date FROM day_off WHERE date IN (:dates)", params,
+                    rs -> {
+                        daysOff.add(rs.getString(1) + '|' + rs.getDate(2).toLocalDate());
+                    });
+            loaded.addAll(dates);
+        }
+
+        // Fills in catalog defaults and checks the row; null when it can be imported
+        String admit(Booking booking) {
+            if (booking.getDate() == null || booking.getTime() == null) {
+                return "date and time are required";
+            }
+            if (booking.getName() == null || booking.getName().isBlank()) {
+                return "name is required";
+            }
+            if (booking.getService() == null) {
+                return "service is required";
+            }
+            Optional<ServiceOffering> service = serviceCatalog.find(booking.getService());
+            if (service.isPresent()) {
+                if (booking.getPrice() <= 0) {
+                    booking.setPrice(service.get().getPrice());
+                }
+                if (booking.getDurationMinutes() == null || booking.getDurationMinutes() <= 0) {
+                    booking.setDurationMinutes(service.get().getDurationMinutes());
+                }
+            } else if (booking.getPrice() <= 0) {
+                return "Unknown service " + booking.getService() + " and no price";
+            }
+            String barber = booking.getBarber();
+            if (barber != null) {
+                if (!barbers.contains(barber)) {
+                    return "Unknown barber " + barber;
+                }
+                if (service.isPresent() && !service.get().isOfferedBy(barber)) {
+                    return "Service " + booking.getService() + " is not offered by " + barber;
+                }
+                String day = barber + '|' + booking.getDate();
+                if (daysOff.contains(day)) {
+                    return "Barber " + barber + " is off on " + booking.getDate();
+                }
+                long[] units = occupied.get(day);
+                if (starts.contains(day + '|' + booking.getTime())
+                        || (units != null && !AvailabilityService.fits(units, booking.getTime(),
+                                AvailabilityService.durationOf(booking)))) {
+                    return "Slot already taken";
+                }
+            }
+            booking.setLocale(NotificationTemplates.locale(booking.getLocale()));
+            if (booking.getTimestamp() == null) {
+                booking.setTimestamp(now);
+            }
+            booking.setReminderStage(ReminderService.initialStage(booking, now));
+            occupy(booking);
+            return null;
+        }
+
+        void occupy(Booking booking) {
+            if (booking.getBarber() == null || booking.getDate() == null || booking.getTime() == null) {
+                return;
+            }
+            String day = booking.getBarber() + '|' + booking.getDate();
+            starts.add(day + '|' + booking.getTime());
+            AvailabilityService.occupy(occupied.computeIfAbsent(day, key -> AvailabilityService.emptyDay()), booking);
+        }
+
+        void insert(List<Row> rows) {
+            List<Object[]> args = new ArrayList<>(rows.size());
+            List<Booking> bookings = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                Booking b = row.booking;
+                bookings.add(b);
+                args.add(new Object[] { b.getBarber(), b.getService(), Date.valueOf(b.getDate()), Time.valueOf(b.getTime()),
+                        b.getName(), b.getSurname(), b.getEmail(), b.getPhone(), b.getMessage(), b.getPrice(),
+                        Timestamp.valueOf(b.getTimestamp()), b.getLocale(), b.getReminderStage(), b.getDurationMinutes() });
+            }
+            jdbcTemplate.batchUpdate(INSERT, args, INSERT_TYPES);
+            analyticsService.onBookingsImported(bookings);
+            if (notify) {
+                for (Booking booking : bookings) {
+                    if (booking.getEmail() != null && booking.getDate().atTime(booking.getTime()).isAfter(now)) {
+                        notificationService.sendBookingConfirmation(booking);
+                    }
+                }
+            }
+        }
+
+        void reject(long line, String error) {
+            report.setRejected(report.getRejected() + 1);
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new ImportReport.RowError(line, error));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    // A parsed booking, or why it could not be parsed
+    private static final class Row {
+        final long line;
+        final Booking booking;
+        final String error;
+
+        Row(long line, Booking booking, String error) {
+            this.line = line;
+            this.booking = booking;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader {
+        Row next() throws IOException;
+    }
+
+    private final class NdjsonReader implements RowReader {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                Booking booking = objectMapper.readValue(text, Booking.class);
+                booking.setId(null);
+                return new Row(line, booking, null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 records; quoted fields may contain commas, quotes and line breaks.
+     * Known columns: barber, service, date, time, name, surname, email, phone,
+     * message, price, timestamp, durationMinutes, locale; others (id) are ignored.
+     */
+    private static final class CsvReader implements RowReader {
+        // Far above a real booking; keeps a quote left open from reading the rest of the upload
+        private static final int MAX_RECORD_CHARS = 16 * 1024;
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> index = new HashMap<>();
+        private long line;
+
+        CsvReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                return; // empty upload
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i) == null ? "" : header.get(i).replace("\uFEFF", "").trim();
+                index.put(name, i);
+            }
+            for (String required : List.of("date", "time", "name", "service")) {
+                if (!index.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header has no " + required + " column");
+                }
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            long start;
+            List<String> fields;
+            do {
+                start = line + 1;
+                try {
+                    fields = readRecord();
+                } catch (IllegalArgumentException e) {
+                    return new Row(start, null, e.getMessage());
+                }
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0) == null); // blank line
+            try {
+                Booking booking = new Booking();
+                booking.setBarber(field(fields, "barber"));
+                booking.setService(field(fields, "service"));
+                String date = field(fields, "date");
+                booking.setDate(date == null ? null : LocalDate.parse(date));
+                String time = field(fields, "time");
+                booking.setTime(time == null ? null : LocalTime.parse(time));
+                booking.setName(field(fields, "name"));
+                booking.setSurname(field(fields, "surname"));
+                booking.setEmail(field(fields, "email"));
+                booking.setPhone(field(fields, "phone"));
+                booking.setMessage(field(fields, "message"));
+                String price = field(fields, "price");
+                booking.setPrice(price == null ? 0 : Double.parseDouble(price));
+                String timestamp = field(fields, "timestamp");
+                booking.setTimestamp(timestamp == null ? null : LocalDateTime.parse(timestamp));
+                String duration = field(fields, "durationMinutes");
+                booking.setDurationMinutes(duration == null ? null : Integer.valueOf(duration));
+                booking.setLocale(field(fields, "locale"));
+                return new Row(start, booking, null);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                return new Row(start, null, "Invalid value: " + e.getMessage());
+            }
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer i = index.get(column);
+            if (i == null || i >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(i);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        // Fields of the next record, null at the end; unquoted empty fields are null
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            int length = text.length();
+            List<String> fields = new ArrayList<>(16);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                        return fields;
+                    }
+                    // Line break inside a quoted field
+                    text = reader.readLine();
+                    if (text == null) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    line++;
+                    length += text.length() + 1;
+                    if (length > MAX_RECORD_CHARS) {
+                        throw new IllegalArgumentException("Record longer than " + MAX_RECORD_CHARS
+                                + " characters, probably an unterminated quoted field");
+                    }
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == ',') {
+                    fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else {
+                    field.append(c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.silla.server.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * What app instances sharing one database need to agree on: who may admit a
+ * booking for a barber+date, which node runs a cluster-wide job, and which
+ * cached state another node has just made stale. Selected by
+ * silla.cluster.mode: "local" (LocalClusterCoordinator, one node or several
+ * application contexts in one JVM) or "postgres" (PostgresClusterCoordinator,
+ * advisory locks and LISTEN/NOTIFY).
+ */
+public interface ClusterCoordinator {
+
+    // Broadcast topics
+    String TOPIC_CACHE = "cache"; // payload: Spring cache name
+    String TOPIC_SLOT = "slot"; // payload: SlotEvent as JSON
+    String TOPIC_IMAGE = "image"; // payload: barber id
+
+    // Delivered on every topic when messages may have been missed (e.g. after a reconnect)
+    String RESYNC = "*";
+
+    /**
+     * Runs {@code action} holding the admission lock of barber+date. When
+     * {@link #isDistributed()} the action runs inside the transaction that
+     * holds the lock, so whatever it writes is committed before another node
+     * can take it.
+     */
+    <T> T withAdmissionLock(String barber, LocalDate date, Supplier<T> action);
+
+    /**
+     * Like {@link #withAdmissionLock} for every date of every barber in
+     * {@code days}, for writers that cover several days at once (imports).
+     * The locks are taken in the same order by every caller.
+     */
+    <T> T withAdmissionLocks(Map<String, ? extends Collection<LocalDate>> days, Supplier<T> action);
+
+    /**
+     * Runs {@code task} unless another node, or another thread of this one, is
+     * already running the job with this name; returns whether it ran. The task
+     * does not run inside a transaction and opens its own.
+     */
+    boolean runExclusively(String job, Runnable task);
+
+    /**
+     * Sends {@code payload} to the listeners of {@code topic} on every other
+     * node. Inside a transaction the message is only delivered after commit.
+     */
+    void broadcast(String topic, String payload);
+
+    void subscribe(String topic, Consumer<String> listener);
+
+    /**
+     * True when other processes may write to the same database, i.e. the
+     * in-memory state of this node cannot be trusted for admission checks.
+     */
+    boolean isDistributed();
+}
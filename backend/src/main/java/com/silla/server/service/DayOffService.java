@@ -0,0 +1,75 @@
+package com.silla.server.service;
+
+import com.silla.server.model.DayOff;
+import com.silla.server.repository.DayOffRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class DayOffService {
+
+    @Autowired
+    private DayOffRepository dayOffRepository;
+
+    // Barber-days one request may cover, overlaps counted; a year off for ten barbers fits
+    @Value("${silla.dayoffs.max-per-request:5000}")
+    private long maxPerRequest;
+
+    /**
+     * Creates a day-off for every barber on every date of every range, skipping
+     * dates already off. One query fetches the existing rows; the missing ones
+     * are inserted as a single JDBC batch in one transaction. Requests covering
+     * more than silla.dayoffs.max-per-request barber-days are rejected.
+     */
+    @Transactional
+    public List<DayOff> createRanges(Collection<String> barberIds, List<LocalDate[]> ranges) {
+        if (barberIds.isEmpty() || ranges.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDate min = null;
+        LocalDate max = null;
+        long days = 0;
+        for (LocalDate[] range : ranges) {
+            if (range[0] == null || range[1] == null) {
+                throw new IllegalArgumentException("Start and end date are required");
+            }
+            if (range[0].isAfter(range[1])) {
+                throw new IllegalArgumentException("Start date must be before or equal to end date");
+            }
+            min = min == null || range[0].isBefore(min) ? range[0] : min;
+            max = max == null || range[1].isAfter(max) ? range[1] : max;
+            days += ChronoUnit.DAYS.between(range[0], range[1]) + 1;
+        }
+        if (days > maxPerRequest / barberIds.size()) {
+            throw new IllegalArgumentException("At most " + maxPerRequest + " barber-days per request");
+        }
+
+        Set<String> taken = new HashSet<>();
+        for (DayOff existing : dayOffRepository.findByBarberIdInAndDateBetween(barberIds, min, max)) {
+            taken.add(existing.getBarberId() + '|' + existing.getDate());
+        }
+
+        List<DayOff> newDayOffs = new ArrayList<>();
+        for (String barberId : barberIds) {
+            for (LocalDate[] range : ranges) {
+                for (LocalDate date = range[0]; !date.isAfter(range[1]); date = date.plusDays(1)) {
+                    // Overlapping ranges in the same request are collapsed here too
+                    if (taken.add(barberId + '|' + date)) {
+                        newDayOffs.add(new DayOff(barberId, date));
+                    }
+                }
+            }
+        }
+        return dayOffRepository.saveAll(newDayOffs);
+    }
+}
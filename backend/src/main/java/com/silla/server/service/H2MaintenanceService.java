@@ -0,0 +1,103 @@
+package com.silla.server.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Compacts the embedded H2 file while the application runs. MVStore only
+ * appends, so without this the file keeps the space of every old chunk until
+ * a clean shutdown. Sparse chunks are rewritten in small steps that never
+ * wait for the store lock, so bookings keep committing meanwhile; freed
+ * chunks are reused by later writes. Enabled by silla.h2.compact-cron (prod profile); does
+ * nothing when the datasource is not an H2 file database.
+ */
+@Service
+@ConditionalOnProperty("silla.h2.compact-cron")
+public class H2MaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(H2MaintenanceService.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${silla.h2.compact-max-millis:10000}")
+    private int compactMaxMillis;
+
+    // Chunks below this fill rate are rewritten; a denser file is left alone
+    @Value("${silla.h2.compact-target-fill-rate:80}")
+    private int targetFillRate;
+
+    // Bytes of live pages rewritten per step, so no single step holds the store lock for long
+    @Value("${silla.h2.compact-write-limit:16777216}")
+    private int writeLimit;
+
+    private MVStore store;
+
+    @PostConstruct
+    void init() {
+        try (Connection connection = dataSource.getConnection()) {
+            SessionLocal session = (SessionLocal) connection.unwrap(JdbcConnection.class).getSession();
+            MVStore mvStore = session.getDatabase().getStore().getMvStore();
+            if (mvStore.getFileStore() == null) {
+                return; // in-memory database
+            }
+            store = mvStore;
+        } catch (SQLException | ClassCastException e) {
+            log.info("Datasource is not an embedded H2 database, online compaction disabled");
+            return;
+        }
+        Gauge.builder("silla.h2.file.size", store, s -> s.getFileStore().size())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("silla.h2.fill.rate", store, MVStore::getFillRate)
+                .description("Live data in the database file, percent")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${silla.h2.compact-cron}")
+    public void compact() {
+        if (store == null || store.isClosed()) {
+            return;
+        }
+        int fillRate = store.getFillRate();
+        if (fillRate >= targetFillRate) {
+            return;
+        }
+        long before = store.getFileStore().size();
+        long start = System.nanoTime();
+        long deadline = start + compactMaxMillis * 1_000_000L;
+        int steps = 0;
+        // Each step skips (returns false) instead of waiting when a commit holds the store lock
+        while (System.nanoTime() < deadline && store.getFillRate() < targetFillRate
+                && store.compact(targetFillRate, writeLimit)) {
+            steps++;
+        }
+        store.commit();
+        log.atInfo()
+                .addKeyValue("bytesBefore", before)
+                .addKeyValue("bytesAfter", store.getFileStore().size())
+                .addKeyValue("fillRateBefore", fillRate)
+                .addKeyValue("fillRateAfter", store.getFillRate())
+                .addKeyValue("steps", steps)
+                .addKeyValue("millis", (System.nanoTime() - start) / 1_000_000)
+                .log("Compacted H2 database file");
+    }
+}
@@ -0,0 +1,169 @@
+package com.silla.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Single-process coordination. Locks and the list of nodes are static, so
+ * several application contexts started in one JVM on the same database behave
+ * like a cluster: admission is serialized through one lock per barber+date,
+ * created on first use and dropped once nobody holds or waits for it, so
+ * different barbers and different days never contend; broadcasts are
+ * delivered synchronously to the other contexts.
+ */
+@Service
+@ConditionalOnProperty(name = "silla.cluster.mode", havingValue = "local", matchIfMissing = true)
+public class LocalClusterCoordinator implements ClusterCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalClusterCoordinator.class);
+
+    private static final Map<String, AdmissionLock> ADMISSION = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> JOBS = new ConcurrentHashMap<>();
+    private static final Set<LocalClusterCoordinator> NODES = ConcurrentHashMap.newKeySet();
+
+    // users is only read and written inside ADMISSION.compute(), which serializes per key
+    private static final class AdmissionLock extends ReentrantLock {
+        int users;
+    }
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void join() {
+        NODES.add(this);
+    }
+
+    @PreDestroy
+    void leave() {
+        NODES.remove(this);
+    }
+
+    @Override
+    public <T> T withAdmissionLock(String barber, LocalDate date, Supplier<T> action) {
+        String key = barber + '|' + date;
+        AdmissionLock lock = acquire(key);
+        try {
+            return action.get();
+        } finally {
+            release(key, lock);
+        }
+    }
+
+    @Override
+    public <T> T withAdmissionLocks(Map<String, ? extends Collection<LocalDate>> days, Supplier<T> action) {
+        Set<String> keys = new TreeSet<>();
+        days.forEach((barber, dates) -> dates.forEach(date -> keys.add(barber + '|' + date)));
+        Deque<String> taken = new ArrayDeque<>(keys.size());
+        Deque<AdmissionLock> held = new ArrayDeque<>(keys.size());
+        try {
+            for (String key : keys) {
+                held.push(acquire(key));
+                taken.push(key);
+            }
+            return action.get();
+        } finally {
+            while (!held.isEmpty()) {
+                release(taken.pop(), held.pop());
+            }
+        }
+    }
+
+    private static AdmissionLock acquire(String key) {
+        AdmissionLock lock = ADMISSION.compute(key, (k, existing) -> {
+            AdmissionLock held = existing == null ? new AdmissionLock() : existing;
+            held.users++;
+            return held;
+        });
+        lock.lock();
+        return lock;
+    }
+
+    private static void release(String key, AdmissionLock lock) {
+        lock.unlock();
+        ADMISSION.computeIfPresent(key, (k, held) -> --held.users == 0 ? null : held);
+    }
+
+    // Admission locks currently held or waited for, across all nodes of this JVM
+    static int admissionLockCount() {
+        return ADMISSION.size();
+    }
+
+    @Override
+    public boolean runExclusively(String job, Runnable task) {
+        ReentrantLock lock = JOBS.computeIfAbsent(job, name -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void broadcast(String topic, String payload) {
+        if (NODES.size() < 2) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(topic, payload);
+                }
+            });
+        } else {
+            deliver(topic, payload);
+        }
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+
+    private void deliver(String topic, String payload) {
+        for (LocalClusterCoordinator node : NODES) {
+            if (node != this) {
+                node.receive(topic, payload);
+            }
+        }
+    }
+
+    private void receive(String topic, String payload) {
+        for (Consumer<String> listener : listeners.getOrDefault(topic, List.of())) {
+            try {
+                listener.accept(payload);
+            } catch (RuntimeException e) {
+                log.warn("Cluster listener for {} failed", topic, e);
+            }
+        }
+    }
+}
@@ -1,92 +1,105 @@
 package com.silla.server.service;
 
+import com.silla.server.model.Barber;
 import com.silla.server.model.Booking;
+import com.silla.server.model.OutboxMessage;
+import com.silla.server.model.User;
+import com.silla.server.repository.BarberRepository;
+import com.silla.server.repository.OutboxMessageRepository;
+import com.silla.server.service.NotificationTemplates.Rendered;
+import com.silla.server.service.NotificationTemplates.Var;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Builds customer notifications from the it/en templates, in the language
+ * stored on the booking or account, and queues them in the outbox. Callers
+ * that run inside a transaction get the message committed atomically with
+ * their own change; OutboxDispatcher does the actual SMTP delivery.
+ */
 @Service
+@Transactional
 public class NotificationService {
 
-    @Autowired(required = false)
-    private JavaMailSender emailSender;
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private NotificationTemplates templates;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
 
-    @Async
     public void sendBookingConfirmation(Booking booking) {
-        System.out.println("--------------------------------------------------");
-        System.out.println("Simulating SMS to Client (+39 " + booking.getPhone() + "):");
-        System.out.println("Ciao " + booking.getName() + ", confermiamo il tuo appuntamento per il " + booking.getDate() + " alle " + booking.getTime() + ".");
-        System.out.println("--------------------------------------------------");
-
-        // Email Logic
-        String subject = "Conferma Prenotazione - Silla Barber Shop";
-        String text = "Ciao " + booking.getName() + ",\n\n" +
-                "Il tuo appuntamento è confermato!\n" +
-                "Servizio: " + booking.getService() + "\n" +
-                "Data: " + booking.getDate() + "\n" +
-                "Ora: " + booking.getTime() + "\n" +
-                "Barbiere: " + booking.getBarber() + "\n\n" +
-                "A presto,\nSilla Barber Shop";
-
-        sendEmail(booking.getEmail(), subject, text);
+        sendBooking("booking-confirmation", booking);
     }
 
-    @Async
     public void sendBookingCancellation(Booking booking) {
-        System.out.println("--------------------------------------------------");
-        System.out.println("Simulating SMS to Client (+39 " + booking.getPhone() + "):");
-        System.out.println("Ciao " + booking.getName() + ", il tuo appuntamento del " + booking.getDate() + " è stato cancellato.");
-        System.out.println("--------------------------------------------------");
-
-        // Email Logic
-        String subject = "Cancellazione Appuntamento - Silla Barber Shop";
-        String text = "Ciao " + booking.getName() + ",\n\n" +
-                "Ci dispiace informarti che il tuo appuntamento previsto per il " + booking.getDate() + " alle " + booking.getTime() + " è stato cancellato.\n\n" +
-                "Contattaci per fissare un nuovo appuntamento.\n\n" +
-                "Silla Barber Shop";
-
-        sendEmail(booking.getEmail(), subject, text);
+        sendBooking("booking-cancellation", booking);
+    }
+
+    public void sendBookingReminder(Booking booking) {
+        sendBooking("booking-reminder", booking);
+    }
+
+    public void sendWelcomeEmail(User user) {
+        sendAccount("welcome", user);
     }
 
-    @Async
-    public void sendWelcomeEmail(String toEmail, String name) {
-        String subject = "Benvenuto in Silla Barber Shop!";
-        String text = "Ciao " + name + ",\n\n" +
-                "Grazie per esserti registrato su Silla Barber Shop! Ora puoi prenotare i tuoi appuntamenti più velocemente.\n\n" +
-                "A presto,\nSilla Barber Shop";
-        sendEmail(toEmail, subject, text);
+    public void sendGoodbyeEmail(User user) {
+        sendAccount("goodbye", user);
     }
 
-    @Async
-    public void sendGoodbyeEmail(String toEmail, String name) {
-        String subject = "Arrivederci da Silla Barber Shop";
-        String text = "Ciao " + name + ",\n\n" +
-                "Il tuo account è stato eliminato come richiesto.\n" +
-                "Ci dispiace vederti andare via. Speriamo di rivederti presto!\n\n" +
-                "Silla Barber Shop";
-        sendEmail(toEmail, subject, text);
+    private void sendBooking(String template, Booking booking) {
+        String[] values = NotificationTemplates.values();
+        values[Var.NAME.ordinal()] = booking.getName();
+        values[Var.SERVICE.ordinal()] = serviceCatalog.name(booking.getService(), booking.getLocale());
+        values[Var.DATE.ordinal()] = templates.formatDate(booking.getDate(), booking.getLocale());
+        values[Var.TIME.ordinal()] = templates.formatTime(booking.getTime());
+        values[Var.BARBER.ordinal()] = barberName(booking.getBarber());
+        Rendered message = templates.render(template, booking.getLocale(), values);
+        if (message.getSms() != null) {
+            simulateSms(booking, message.getSms());
+        }
+        sendEmail(booking.getEmail(), message);
+    }
+
+    private void sendAccount(String template, User user) {
+        String[] values = NotificationTemplates.values();
+        values[Var.NAME.ordinal()] = user.getName();
+        sendEmail(user.getEmail(), templates.render(template, user.getLocale(), values));
     }
 
-    private void sendEmail(String to, String subject, String text) {
-        if (emailSender != null) {
-            try {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setTo(to);
-                message.setSubject(subject);
-                message.setText(text);
-                emailSender.send(message);
-                System.out.println("Email Sent Successfully to " + to);
-            } catch (Exception e) {
-                System.err.println("Error sending email: " + e.getMessage());
+    // Bookings store the barber id; findAll() is served from the "barbers" cache
+    private String barberName(String barberId) {
+        for (Barber barber : barberRepository.findAll()) {
+            if (barber.getId().equals(barberId)) {
+                return barber.getName();
             }
-        } else {
-            System.out.println("--------------------------------------------------");
-            System.out.println("Email Sender not configured. Simulating Email to " + to + ":");
-            System.out.println("Subject: " + subject);
-            System.out.println("Body: \n" + text);
-            System.out.println("--------------------------------------------------");
         }
+        return barberId;
+    }
+
+    // No SMS gateway yet
+    private static void simulateSms(Booking booking, String text) {
+        log.atInfo()
+                .addKeyValue("phone", "+39 " + booking.getPhone())
+                .addKeyValue("text", text)
+                .log("Simulated SMS to client");
+    }
+
+    private void sendEmail(String to, Rendered message) {
+        if (to == null || to.isBlank()) {
+            return;
+        }
+        outboxMessageRepository.save(new OutboxMessage(to, message.getSubject(), message.getText(), message.getHtml()));
     }
 }
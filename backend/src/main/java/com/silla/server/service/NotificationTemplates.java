@@ -0,0 +1,241 @@
+package com.silla.server.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Notification texts, one file per template and language
+ * (resources/notifications/{name}.{locale}.tmpl) with "--- subject",
+ * "--- text", "--- html" and optional "--- sms" sections. Files are parsed
+ * once at startup into literal/placeholder segments, so rendering is a single
+ * pass into a per-thread buffer. {{placeholders}} are HTML-escaped in the html
+ * section. Unknown locales fall back to Italian.
+ */
+@Component
+public class NotificationTemplates {
+
+    public static final String DEFAULT_LOCALE = "it";
+    public static final List<String> LOCALES = List.of("it", "en");
+
+    /** Placeholders; {{name}} is NAME. Values are passed as a String[] indexed by ordinal. */
+    public enum Var { NAME, SERVICE, DATE, TIME, BARBER }
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+    private static final int MAX_BUFFER = 64 * 1024;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    private final Map<String, Template> templates = new HashMap<>();
+    private final Map<String, DateTimeFormatter> dateFormats = new HashMap<>();
+
+    @PostConstruct
+    void load() throws IOException {
+        for (String locale : LOCALES) {
+            dateFormats.put(locale, DateTimeFormatter.ofLocalizedDate(FormatStyle.FULL).withLocale(Locale.forLanguageTag(locale)));
+        }
+        Resource[] files = new PathMatchingResourcePatternResolver().getResources("classpath*:notifications/*.tmpl");
+        for (Resource file : files) {
+            String filename = file.getFilename();
+            String key = filename.substring(0, filename.length() - ".tmpl".length());
+            templates.put(key, parse(key, file.getContentAsString(StandardCharsets.UTF_8)));
+        }
+        for (String key : templates.keySet()) {
+            String name = key.substring(0, key.lastIndexOf('.'));
+            if (!templates.containsKey(name + '.' + DEFAULT_LOCALE)) {
+                throw new IllegalStateException("Notification template " + name + " has no " + DEFAULT_LOCALE + " version");
+            }
+        }
+    }
+
+    /** Maps a browser language ("en-US", "it", null) to a supported locale. */
+    public static String locale(String requested) {
+        if (requested != null && requested.length() >= 2) {
+            String language = requested.substring(0, 2).toLowerCase(Locale.ROOT);
+            if (LOCALES.contains(language)) {
+                return language;
+            }
+        }
+        return DEFAULT_LOCALE;
+    }
+
+    public static String[] values() {
+        return new String[Var.values().length];
+    }
+
+    public String formatDate(LocalDate date, String locale) {
+        return date == null ? "" : dateFormats.get(locale(locale)).format(date);
+    }
+
+    public String formatTime(LocalTime time) {
+        return time == null ? "" : TIME_FORMAT.format(time);
+    }
+
+    public Rendered render(String name, String locale, String[] values) {
+        Template template = templates.get(name + '.' + locale(locale));
+        if (template == null) {
+            template = templates.get(name + '.' + DEFAULT_LOCALE);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown notification template " + name);
+        }
+        return new Rendered(render(template.subject, values, false), render(template.text, values, false),
+                render(template.html, values, true), render(template.sms, values, false));
+    }
+
+    private static String render(Section section, String[] values, boolean html) {
+        if (section == null) {
+            return null;
+        }
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        for (int i = 0; i < section.vars.length; i++) {
+            out.append(section.literals[i]);
+            String value = values[section.vars[i]];
+            if (value == null) {
+                continue;
+            }
+            if (html) {
+                escapeHtml(value, out);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(section.literals[section.vars.length]);
+        String result = out.toString();
+        if (out.capacity() > MAX_BUFFER) {
+            BUFFER.remove(); // do not pin an oversized buffer to the thread
+        }
+        return result;
+    }
+
+    private static void escapeHtml(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static Template parse(String key, String source) {
+        Map<String, Section> sections = new HashMap<>();
+        String current = null;
+        StringBuilder content = new StringBuilder();
+        for (String line : source.split("\r?\n", -1)) {
+            if (line.startsWith("--- ")) {
+                if (current != null) {
+                    sections.put(current, compile(key, content));
+                }
+                current = line.substring(4).trim();
+                content.setLength(0);
+            } else if (current != null) {
+                content.append(line).append('\n');
+            }
+        }
+        if (current != null) {
+            sections.put(current, compile(key, content));
+        }
+        if (!sections.containsKey("subject") || !sections.containsKey("text")) {
+            throw new IllegalStateException("Notification template " + key + " needs a subject and a text section");
+        }
+        return new Template(sections.get("subject"), sections.get("text"), sections.get("html"), sections.get("sms"));
+    }
+
+    private static Section compile(String key, StringBuilder content) {
+        String text = content.toString().strip();
+        List<String> literals = new ArrayList<>();
+        List<Integer> vars = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        int from = 0;
+        while (matcher.find()) {
+            Var var;
+            try {
+                var = Var.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Unknown placeholder " + matcher.group() + " in " + key);
+            }
+            literals.add(text.substring(from, matcher.start()));
+            vars.add(var.ordinal());
+            from = matcher.end();
+        }
+        literals.add(text.substring(from));
+        return new Section(literals.toArray(new String[0]), vars.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // literals[i] precedes vars[i]; the last literal follows the last placeholder
+    private static final class Section {
+        final String[] literals;
+        final int[] vars;
+
+        Section(String[] literals, int[] vars) {
+            this.literals = literals;
+            this.vars = vars;
+        }
+    }
+
+    private static final class Template {
+        final Section subject;
+        final Section text;
+        final Section html;
+        final Section sms;
+
+        Template(Section subject, Section text, Section html, Section sms) {
+            this.subject = subject;
+            this.text = text;
+            this.html = html;
+            this.sms = sms;
+        }
+    }
+
+    public static class Rendered {
+        private final String subject;
+        private final String text;
+        private final String html;
+        private final String sms;
+
+        public Rendered(String subject, String text, String html, String sms) {
+            this.subject = subject;
+            this.text = text;
+            this.html = html;
+            this.sms = sms;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+
+        public String getSms() {
+            return sms;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.silla.server.service;
+
+import com.silla.server.model.OutboxMessage;
+import com.silla.server.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Drains the notification outbox. Each poll claims up to batch-size x
+ * concurrency due messages and sends them in chunks, one SMTP connection per
+ * chunk, on the application task executor (virtual threads when
+ * spring.threads.virtual.enabled is on, the bounded spring.task.execution
+ * pool otherwise). Failed messages are retried with exponential backoff and
+ * parked as DEAD after max-attempts. Messages with an HTML body go out as
+ * multipart/alternative next to the plain text.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired(required = false)
+    private JavaMailSender emailSender;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Value("${silla.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${silla.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${silla.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${silla.outbox.retention-days:30}")
+    private int retentionDays;
+
+    // At most this many chunks (and SMTP connections) are in flight per poll
+    @Value("${silla.outbox.concurrency:2}")
+    private int concurrency;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor workers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    private Timer sendTimer;
+    private Counter sent;
+    private Counter retried;
+    private Counter dead;
+
+    @PostConstruct
+    void registerMetrics() {
+        sendTimer = Timer.builder("silla.notification.send")
+                .description("SMTP delivery of one outbox chunk")
+                .register(meterRegistry);
+        sent = Counter.builder("silla.notification.messages").tag("outcome", "sent").register(meterRegistry);
+        retried = Counter.builder("silla.notification.messages").tag("outcome", "retry").register(meterRegistry);
+        dead = Counter.builder("silla.notification.messages").tag("outcome", "dead").register(meterRegistry);
+        Gauge.builder("silla.outbox.pending", outboxMessageRepository,
+                        repository -> repository.countByStatus(OutboxMessage.Status.PENDING))
+                .description("Messages waiting for delivery or retry")
+                .register(meterRegistry);
+    }
+
+    // One node at a time drains the outbox, otherwise two nodes could claim the same messages
+    @Scheduled(fixedDelayString = "${silla.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        clusterCoordinator.runExclusively("outbox-dispatch", this::dispatchDue);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeSent() {
+        clusterCoordinator.runExclusively("outbox-purge", () -> outboxMessageRepository
+                .deleteByStatusAndSentAtBefore(OutboxMessage.Status.SENT, LocalDateTime.now().minusDays(retentionDays)));
+    }
+
+    private void dispatchDue() {
+        List<OutboxMessage> due = outboxMessageRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboxMessage.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize * Math.max(1, concurrency)));
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Future<List<OutboxMessage>>> results = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<OutboxMessage> chunk = due.subList(from, Math.min(from + batchSize, due.size()));
+            results.add(workers.submit(() -> send(chunk)));
+        }
+        List<OutboxMessage> updated = new ArrayList<>(due.size());
+        for (Future<List<OutboxMessage>> result : results) {
+            try {
+                updated.addAll(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Outbox chunk failed", e.getCause());
+            }
+        }
+        outboxMessageRepository.saveAll(updated);
+    }
+
+    private List<OutboxMessage> send(List<OutboxMessage> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        if (emailSender == null) {
+            for (OutboxMessage message : chunk) {
+                log.atInfo()
+                        .addKeyValue("to", message.getRecipient())
+                        .addKeyValue("subject", message.getSubject())
+                        .addKeyValue("body", message.getBody())
+                        .log("Email sender not configured, simulating email");
+                markSent(message, now);
+            }
+            return chunk;
+        }
+
+        List<MimeMessage> mails = new ArrayList<>(chunk.size());
+        Map<MimeMessage, OutboxMessage> byMail = new HashMap<>();
+        Map<Object, Exception> failed = new HashMap<>();
+        for (OutboxMessage message : chunk) {
+            MimeMessage mail = emailSender.createMimeMessage();
+            try {
+                // multipart/alternative when there is an HTML body, plain text otherwise
+                MimeMessageHelper helper = new MimeMessageHelper(mail, message.getHtmlBody() != null, "UTF-8");
+                helper.setTo(message.getRecipient());
+                helper.setSubject(message.getSubject());
+                if (message.getHtmlBody() != null) {
+                    helper.setText(message.getBody(), message.getHtmlBody());
+                } else {
+                    helper.setText(message.getBody());
+                }
+                mails.add(mail);
+            } catch (MessagingException e) {
+                failed.put(mail, e);
+            }
+            byMail.put(mail, message);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // JavaMailSenderImpl delivers the whole array over a single connection
+            emailSender.send(mails.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> rejected = e.getFailedMessages();
+            if (rejected.isEmpty()) {
+                // Connection-level failure: nothing was sent
+                mails.forEach(mail -> failed.put(mail, e));
+            } else {
+                failed.putAll(rejected);
+            }
+        } catch (Exception e) {
+            // e.g. an unparseable address: retry one by one so a single bad message cannot block the chunk
+            for (MimeMessage mail : mails) {
+                try {
+                    emailSender.send(mail);
+                } catch (Exception single) {
+                    failed.put(mail, single);
+                }
+            }
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        for (Map.Entry<MimeMessage, OutboxMessage> entry : byMail.entrySet()) {
+            OutboxMessage message = entry.getValue();
+            Exception error = failed.get(entry.getKey());
+            if (error == null) {
+                markSent(message, now);
+            } else {
+                markFailed(message, now, error);
+            }
+        }
+        return chunk;
+    }
+
+    private void markSent(OutboxMessage message, LocalDateTime now) {
+        sent.increment();
+        message.setStatus(OutboxMessage.Status.SENT);
+        message.setSentAt(now);
+        message.setAttempts(message.getAttempts() + 1);
+    }
+
+    private void markFailed(OutboxMessage message, LocalDateTime now, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        String reason = String.valueOf(error.getMessage());
+        message.setLastError(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxMessage.Status.DEAD);
+            dead.increment();
+            log.atWarn()
+                    .addKeyValue("to", message.getRecipient())
+                    .addKeyValue("attempts", attempts)
+                    .addKeyValue("error", reason)
+                    .log("Giving up on email");
+        } else {
+            retried.increment();
+            long delay = backoffSeconds << Math.min(attempts - 1, 10);
+            message.setNextAttemptAt(now.plusSeconds(delay));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.silla.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coordination for several app instances on one PostgreSQL primary.
+ * Admission takes pg_advisory_xact_lock(barber, day) in the transaction that
+ * inserts the booking, so the lock is released by the commit. Cluster-wide
+ * jobs take a session-level pg_try_advisory_lock on a connection of their own,
+ * outside the pool, and run outside any transaction: each job opens its own
+ * short transactions. Broadcasts go through NOTIFY, which PostgreSQL delivers
+ * only once the sending transaction commits; each node LISTENs on its own
+ * connection, outside the pool, and skips its own messages.
+ */
+@Service
+@ConditionalOnProperty(name = "silla.cluster.mode", havingValue = "postgres")
+public class PostgresClusterCoordinator implements ClusterCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresClusterCoordinator.class);
+
+    private static final String CHANNEL = "silla_cluster";
+    private static final ResultSetExtractor<Void> IGNORE = rs -> null;
+    private static final long RECONNECT_MILLIS = 2000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    // Session locks are re-entrant, so threads of this node are kept apart here first
+    private final Map<String, ReentrantLock> jobs = new ConcurrentHashMap<>();
+
+    private Connection jobLockConnection; // guarded by this; holds the session-level job locks
+
+    private volatile boolean running = true;
+    private Thread listenerThread;
+
+    @PostConstruct
+    void start() {
+        listenerThread = new Thread(this::listen, "silla-cluster-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.atInfo().addKeyValue("node", nodeId).log("Joined cluster");
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        listenerThread.interrupt();
+        listenerThread.join(5000);
+        synchronized (this) {
+            closeQuietly(jobLockConnection);
+            jobLockConnection = null;
+        }
+    }
+
+    @Override
+    public <T> T withAdmissionLock(String barber, LocalDate date, Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            // Two-int key space: hash collisions only serialize unrelated days, never skip a lock
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", IGNORE, barber.hashCode(),
+                    (int) date.toEpochDay());
+            return action.get();
+        });
+    }
+
+    @Override
+    public <T> T withAdmissionLocks(Map<String, ? extends Collection<LocalDate>> days, Supplier<T> action) {
+        // Ordered by lock key rather than by name, so colliding hashes cannot deadlock two callers
+        SortedSet<Long> keys = new TreeSet<>();
+        days.forEach((barber, dates) -> dates.forEach(date ->
+                keys.add(((long) barber.hashCode() << 32) | (int) date.toEpochDay() & 0xFFFFFFFFL)));
+        return transactionTemplate.execute(status -> {
+            for (long key : keys) {
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", IGNORE, (int) (key >> 32), (int) key);
+            }
+            return action.get();
+        });
+    }
+
+    @Override
+    public boolean runExclusively(String job, Runnable task) {
+        ReentrantLock local = jobs.computeIfAbsent(job, name -> new ReentrantLock());
+        if (!local.tryLock()) {
+            return false;
+        }
+        try {
+            if (!jobLock("pg_try_advisory_lock", job)) {
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                try {
+                    jobLock("pg_advisory_unlock", job);
+                } catch (DataAccessResourceFailureException e) {
+                    // The session is gone, and with it the lock
+                    log.warn("Could not release the lock of job {}: {}", job, e.getMessage());
+                }
+            }
+        } finally {
+            local.unlock();
+        }
+    }
+
+    @Override
+    public void broadcast(String topic, String payload) {
+        // Runs on the connection of the current transaction, if any, so delivery follows its commit
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", IGNORE, CHANNEL, nodeId + '\n' + topic + '\n' + payload);
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+
+    // A lost connection loses its locks: the next call opens a new session, and unlock then just returns false
+    private synchronized boolean jobLock(String function, String job) {
+        try {
+            if (jobLockConnection == null || !jobLockConnection.isValid(5)) {
+                closeQuietly(jobLockConnection);
+                jobLockConnection = connect();
+            }
+            try (PreparedStatement statement = jobLockConnection.prepareStatement("SELECT " + function + "(hashtext(?))")) {
+                statement.setString(1, "silla:" + job);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() && rs.getBoolean(1);
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(jobLockConnection);
+            jobLockConnection = null;
+            throw new DataAccessResourceFailureException("Cluster job lock failed", e);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // already broken
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnect) {
+                    // Whatever was sent while we were disconnected is lost
+                    listeners.keySet().forEach(topic -> receive(topic, RESYNC));
+                }
+                reconnect = true;
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cluster listener connection lost, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String message) {
+        String[] parts = message.split("\n", 3);
+        if (parts.length == 3 && !nodeId.equals(parts[0])) {
+            receive(parts[1], parts[2]);
+        }
+    }
+
+    private void receive(String topic, String payload) {
+        for (Consumer<String> listener : listeners.getOrDefault(topic, List.of())) {
+            try {
+                listener.accept(payload);
+            } catch (RuntimeException e) {
+                log.warn("Cluster listener for {} failed", topic, e);
+            }
+        }
+    }
+}
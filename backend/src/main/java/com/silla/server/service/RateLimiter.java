@@ -0,0 +1,100 @@
+package com.silla.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.silla.server.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets for the public write endpoints. Each bucket is a
+ * single AtomicLong holding the bucket's "theoretical arrival time" (GCRA),
+ * updated with a CAS, so admission never takes a lock. Buckets live in a
+ * bounded Caffeine map and disappear once idle; an idle bucket is full anyway.
+ */
+@Service
+public class RateLimiter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, AtomicLong> buckets;
+    private final Map<String, Limit> limits = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(Duration.ofMinutes(properties.getIdleExpiryMinutes()))
+                .build();
+        properties.getRules().forEach((name, rule) -> limits.put(name, new Limit(name, rule, meterRegistry)));
+        Gauge.builder("silla.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Client buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key} under {@code rule}.
+     * Returns 0 when the request is admitted, otherwise the seconds until a
+     * token is available. Unknown rules and a disabled limiter admit everything.
+     */
+    public long acquire(String rule, String key) {
+        Limit limit = limits.get(rule);
+        if (!properties.isEnabled() || limit == null || key == null) {
+            return 0;
+        }
+        AtomicLong tat = buckets.get(rule + '|' + key, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long next = (current - now > 0 ? current : now) + limit.interval;
+            long excess = next - now - limit.burst;
+            if (excess > 0) {
+                limit.rejected.increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(excess + TimeUnit.SECONDS.toNanos(1) - 1));
+            }
+            if (tat.compareAndSet(current, next)) {
+                limit.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public static ResponseEntity<Map<String, String>> tooManyRequests(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Map.of("error", "Too many requests"));
+    }
+
+    private static final class Limit {
+        final long interval; // nanos per token
+        final long burst;    // how far ahead of now the arrival time may run
+        final Counter allowed;
+        final Counter rejected;
+
+        Limit(String name, RateLimitProperties.Rule rule, MeterRegistry registry) {
+            this.interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, rule.getRefillPerMinute());
+            this.burst = interval * Math.max(1, rule.getCapacity());
+            this.allowed = Counter.builder("silla.ratelimit.requests").tag("rule", name).tag("outcome", "allowed")
+                    .register(registry);
+            this.rejected = Counter.builder("silla.ratelimit.requests").tag("rule", name).tag("outcome", "rejected")
+                    .register(registry);
+        }
+    }
+}
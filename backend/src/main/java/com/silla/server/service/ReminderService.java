@@ -0,0 +1,289 @@
+package com.silla.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silla.server.dto.SlotEvent;
+import com.silla.server.model.Booking;
+import com.silla.server.repository.BookingRepository;
+import com.silla.server.service.ReminderWheel.Reminder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Appointment reminders 24h and 2h before each booking. Pending reminders of
+ * the next few hours sit on a {@link ReminderWheel}, filled from date/time
+ * range queries an hour at a time and kept in sync with admissions and
+ * cancellations; nothing is scanned per minute. bookings.reminder_stage
+ * records what was sent: a due batch locks its rows, skips the ones already
+ * at that stage and queues the emails in the outbox in the same transaction,
+ * so restarts and other nodes never send a reminder twice. After a restart
+ * reminders that fell due while the node was down go out late rather than
+ * not at all, unless the appointment has passed.
+ */
+@Service
+public class ReminderService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderService.class);
+
+    public static final int DAY_BEFORE = 1;
+    public static final int HOURS_BEFORE = 2;
+
+    private static final long DAY_BEFORE_MINUTES = 24 * 60;
+    private static final long HOURS_BEFORE_MINUTES = 2 * 60;
+    // The wheel is topped up an hour at a time once less than two hours are loaded
+    private static final long LOAD_CHUNK_MINUTES = 60;
+    private static final long LOAD_AHEAD_MINUTES = 120;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClusterCoordinator clusterCoordinator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${silla.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${silla.reminders.batch-size:100}")
+    private int batchSize;
+
+    private ReminderWheel wheel;
+    private long loadedUntil; // epoch minute; reminders due up to here are on the wheel or sent
+    private Counter queued;
+
+    @PostConstruct
+    void init() {
+        queued = Counter.builder("silla.reminders.queued").register(meterRegistry);
+        Gauge.builder("silla.reminders.scheduled", this, service -> service.scheduledCount())
+                .description("Reminders waiting on the timing wheel")
+                .register(meterRegistry);
+        // Bookings made on other nodes; cancellations need nothing, the batch re-checks the row
+        clusterCoordinator.subscribe(ClusterCoordinator.TOPIC_SLOT, payload -> {
+            if (ClusterCoordinator.RESYNC.equals(payload)) {
+                rebuild();
+                return;
+            }
+            SlotEvent event;
+            try {
+                event = objectMapper.readValue(payload, SlotEvent.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Bad slot event: " + payload, e);
+            }
+            if (!SlotEvent.SLOT_TAKEN.equals(event.getType()) || event.getDate() == null) {
+                return;
+            }
+            // The event names the grid slot taken, not the start of the booking that took it, which may
+            // be earlier or off the grid: look at the barber's whole day, scheduling twice is harmless
+            LocalDateTime day = event.getDate().atStartOfDay();
+            if (minute(day) - DAY_BEFORE_MINUTES > loadedUntil()) {
+                return; // topUp() will find it
+            }
+            findOwing(HOURS_BEFORE, day.minusMinutes(1), day.plusDays(1).minusMinutes(1)).stream()
+                    .filter(booking -> event.getBarber().equals(booking.getBarber()))
+                    .forEach(this::schedule);
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /** Stage for a new booking: reminders whose time has already passed are not sent. */
+    public static int initialStage(Booking booking, LocalDateTime now) {
+        if (booking.getDate() == null || booking.getTime() == null) {
+            return HOURS_BEFORE;
+        }
+        LocalDateTime at = booking.getDate().atTime(booking.getTime());
+        if (!at.minusMinutes(HOURS_BEFORE_MINUTES).isAfter(now)) {
+            return HOURS_BEFORE;
+        }
+        return at.minusMinutes(DAY_BEFORE_MINUTES).isAfter(now) ? 0 : DAY_BEFORE;
+    }
+
+    /** Puts a new booking on the wheel once its transaction commits. */
+    public void onBookingCreated(Booking booking) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(booking);
+                }
+            });
+        } else {
+            schedule(booking);
+        }
+    }
+
+    public synchronized void onBookingDeleted(Long bookingId) {
+        if (wheel != null && bookingId != null) {
+            wheel.remove(bookingId);
+        }
+    }
+
+    @Scheduled(cron = "0 * * * * *")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        long now = minute(LocalDateTime.now());
+        List<Reminder> due;
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            due = wheel.advance(now);
+        }
+        topUp(now);
+        Map<Integer, List<Long>> byStage = due.stream().collect(Collectors.groupingBy(reminder -> reminder.stage,
+                Collectors.mapping(reminder -> reminder.bookingId, Collectors.toList())));
+        byStage.forEach((stage, ids) -> {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                try {
+                    send(stage, batch);
+                } catch (RuntimeException e) {
+                    // Nothing was marked: retry on the next tick
+                    log.atError().addKeyValue("stage", stage).addKeyValue("bookings", batch.size())
+                            .setCause(e).log("Reminder batch failed");
+                    retry(stage, batch);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the wheel and reloads it: reminders already due, then the next
+     * hours. Bookings made while the first query runs need no reminder before
+     * the ones topUp() loads: within 24h of the appointment they start at the
+     * 2h stage.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        long now = minute(start);
+        // Appointments in the next 24h owe their reminder now (24h one missed) or at the 2h mark
+        List<Booking> owing = findOwing(HOURS_BEFORE, start, start.plusMinutes(DAY_BEFORE_MINUTES));
+        synchronized (this) {
+            wheel = new ReminderWheel(now);
+            loadedUntil = now;
+            owing.forEach(this::schedule);
+        }
+        topUp(now);
+        log.atInfo().addKeyValue("scheduled", scheduledCount()).addKeyValue("checked", owing.size())
+                .log("Reminder wheel loaded");
+    }
+
+    // Queries outside the monitor, so admissions and cancellations never wait on them
+    private void topUp(long now) {
+        while (true) {
+            long from;
+            synchronized (this) {
+                if (loadedUntil >= now + LOAD_AHEAD_MINUTES || loadedUntil + LOAD_CHUNK_MINUTES >= wheel.end()) {
+                    return;
+                }
+                from = loadedUntil;
+                // Claimed before the queries: bookings committed after them are scheduled by onBookingCreated()
+                loadedUntil = from + LOAD_CHUNK_MINUTES;
+            }
+            long to = from + LOAD_CHUNK_MINUTES;
+            // Due in (from, to]: appointments 24h resp. 2h after that window
+            findOwing(DAY_BEFORE, time(from + DAY_BEFORE_MINUTES), time(to + DAY_BEFORE_MINUTES))
+                    .forEach(this::schedule);
+            findOwing(HOURS_BEFORE, time(from + HOURS_BEFORE_MINUTES), time(to + HOURS_BEFORE_MINUTES))
+                    .forEach(this::schedule);
+        }
+    }
+
+    private synchronized void schedule(Booking booking) {
+        if (!enabled || wheel == null || booking.getId() == null || booking.getDate() == null
+                || booking.getTime() == null) {
+            return;
+        }
+        long appointment = minute(booking.getDate().atTime(booking.getTime()));
+        long now = minute(LocalDateTime.now());
+        int stage = booking.getReminderStage();
+        if (stage >= HOURS_BEFORE || appointment <= now) {
+            return;
+        }
+        // A missed 24h reminder is sent late unless the 2h one is already on the wheel's horizon
+        Reminder next = stage < DAY_BEFORE && appointment - HOURS_BEFORE_MINUTES > loadedUntil
+                ? new Reminder(booking.getId(), DAY_BEFORE, appointment - DAY_BEFORE_MINUTES)
+                : new Reminder(booking.getId(), HOURS_BEFORE, appointment - HOURS_BEFORE_MINUTES);
+        // Beyond the loaded window the reminder is picked up by a later topUp()
+        if (next.dueMinute <= loadedUntil) {
+            wheel.add(next);
+        }
+    }
+
+    private void send(int stage, List<Long> ids) {
+        int sent = transactionTemplate.execute(status -> {
+            List<Booking> owing = bookingRepository.lockOwingReminder(ids, stage);
+            for (Booking booking : owing) {
+                booking.setReminderStage(stage);
+                notificationService.sendBookingReminder(booking);
+            }
+            return owing.size();
+        });
+        queued.increment(sent);
+        // The 2h reminder of a booking just reminded a day ahead is loaded by topUp() later
+    }
+
+    private List<Booking> findOwing(int stage, LocalDateTime from, LocalDateTime to) {
+        return bookingRepository.findOwingReminder(stage, from.toLocalDate(), from.toLocalTime(),
+                to.toLocalDate(), to.toLocalTime());
+    }
+
+    private synchronized void retry(int stage, List<Long> ids) {
+        ids.forEach(id -> wheel.add(new Reminder(id, stage, 0)));
+    }
+
+    private synchronized long loadedUntil() {
+        return loadedUntil;
+    }
+
+    private synchronized int scheduledCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    private static long minute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime time(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
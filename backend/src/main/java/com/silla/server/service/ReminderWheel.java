@@ -0,0 +1,98 @@
+package com.silla.server.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Timing wheel of one-minute buckets covering the next {@link #SLOTS}
+ * minutes. Adding and expiring a reminder is O(1); reminders further out are
+ * rejected and loaded by ReminderService once the wheel has turned far
+ * enough. Not thread-safe.
+ */
+class ReminderWheel {
+
+    static final int SLOTS = 256;
+
+    private final List<Set<Reminder>> buckets = new ArrayList<>(SLOTS);
+    private long cursor; // epoch minute of the next bucket to expire
+    private int size;
+
+    ReminderWheel(long startMinute) {
+        for (int i = 0; i < SLOTS; i++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+        cursor = startMinute;
+    }
+
+    /** Overdue reminders go into the current bucket; returns false if beyond the wheel. */
+    boolean add(Reminder reminder) {
+        long minute = Math.max(reminder.dueMinute, cursor);
+        if (minute >= cursor + SLOTS) {
+            return false;
+        }
+        if (buckets.get((int) (minute & (SLOTS - 1))).add(reminder)) {
+            size++;
+        }
+        return true;
+    }
+
+    void remove(long bookingId) {
+        if (size == 0) {
+            return;
+        }
+        for (Set<Reminder> bucket : buckets) {
+            int before = bucket.size();
+            bucket.removeIf(reminder -> reminder.bookingId == bookingId);
+            size -= before - bucket.size();
+        }
+    }
+
+    /** Expires every bucket up to and including nowMinute. */
+    List<Reminder> advance(long nowMinute) {
+        List<Reminder> due = new ArrayList<>();
+        long last = Math.min(nowMinute, cursor + SLOTS - 1);
+        for (; cursor <= last; cursor++) {
+            Set<Reminder> bucket = buckets.get((int) (cursor & (SLOTS - 1)));
+            due.addAll(bucket);
+            size -= bucket.size();
+            bucket.clear();
+        }
+        cursor = Math.max(cursor, nowMinute + 1);
+        return due;
+    }
+
+    /** First minute that does not fit on the wheel. */
+    long end() {
+        return cursor + SLOTS;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static final class Reminder {
+        final long bookingId;
+        final int stage;
+        final long dueMinute;
+
+        Reminder(long bookingId, int stage, long dueMinute) {
+            this.bookingId = bookingId;
+            this.stage = stage;
+            this.dueMinute = dueMinute;
+        }
+
+        // One entry per booking and stage, whatever path scheduled it
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Reminder other && bookingId == other.bookingId && stage == other.stage;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bookingId, stage);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.silla.server.service;
+
+import com.silla.server.model.Booking;
+import com.silla.server.model.ServiceOffering;
+import com.silla.server.repository.ServiceOfferingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookups over the cached service list. Price and duration of a booking come
+ * from here, never from the request.
+ */
+@Service
+public class ServiceCatalog {
+
+    @Autowired
+    private ServiceOfferingRepository serviceOfferingRepository;
+
+    public List<ServiceOffering> findAll() {
+        return serviceOfferingRepository.findAll();
+    }
+
+    public Optional<ServiceOffering> find(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findAll().stream().filter(service -> id.equals(service.getId())).findFirst();
+    }
+
+    /** Copies price and duration of the booked service onto the booking. */
+    public void price(Booking booking) {
+        ServiceOffering service = find(booking.getService())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown service: " + booking.getService()));
+        if (booking.getBarber() != null && !service.isOfferedBy(booking.getBarber())) {
+            throw new IllegalArgumentException("Service " + service.getId() + " is not offered by " + booking.getBarber());
+        }
+        booking.setPrice(service.getPrice());
+        booking.setDurationMinutes(service.getDurationMinutes());
+    }
+
+    public String name(String id, String locale) {
+        return find(id).map(service -> service.getName(NotificationTemplates.locale(locale))).orElse(id);
+    }
+}
@@ -0,0 +1,198 @@
+package com.silla.server.service;
+
+import com.silla.server.dto.SlotEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans slot changes out to booking pages over server-sent events. Clients
+ * subscribe to one barber+date; the request thread returns as soon as the
+ * emitter is registered, so idle connections hold no thread. Every client has
+ * a bounded queue drained on the application task executor. A client that
+ * falls buffer-size events behind is disconnected; EventSource reconnects and
+ * starts again from a fresh snapshot.
+ */
+@Service
+public class SlotEventBroadcaster {
+
+    private static final SlotEvent HEARTBEAT = new SlotEvent();
+    private static final int HEARTBEAT_CHUNK = 256;
+
+    @Value("${silla.events.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${silla.events.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${silla.events.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor workers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("silla.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open slot event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a client for one barber+date and queues the snapshot as its
+     * first event. The snapshot is taken after registration so no change can
+     * fall between the two. Returns null when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe(String barber, LocalDate date, Supplier<SlotEvent> snapshot) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        String key = key(barber, date);
+        Subscriber subscriber = new Subscriber(key, new SseEmitter(Duration.ofMinutes(timeoutMinutes).toMillis()),
+                bufferSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        subscriber.queue.offer(snapshot.get());
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    public void publish(SlotEvent event) {
+        Set<Subscriber> targets = subscribers.get(key(event.getBarber(), event.getDate()));
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            if (subscriber.queue.offer(event)) {
+                schedule(subscriber);
+            } else {
+                // Too far behind to catch up event by event; let it reconnect for a new snapshot
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Keeps proxies from closing idle streams and detects clients that went away
+    @Scheduled(fixedDelayString = "${silla.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        List<Subscriber> all = new ArrayList<>();
+        subscribers.values().forEach(all::addAll);
+        for (int from = 0; from < all.size(); from += HEARTBEAT_CHUNK) {
+            List<Subscriber> chunk = all.subList(from, Math.min(from + HEARTBEAT_CHUNK, all.size()));
+            try {
+                workers.execute(() -> {
+                    for (Subscriber subscriber : chunk) {
+                        // Busy clients are getting events anyway
+                        if (subscriber.draining.compareAndSet(false, true)) {
+                            subscriber.queue.offer(HEARTBEAT);
+                            drain(subscriber);
+                        }
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                return; // executor saturated, the next round will try again
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                workers.execute(() -> drain(subscriber));
+            } catch (TaskRejectedException e) {
+                // Events stay queued and go out with the next publish
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    // Caller owns the draining flag, so one thread at a time writes to a given client
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            try {
+                SlotEvent event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event().name(event.getType())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (Exception e) {
+                // Client gone or emitter already completed; the flag stays set so nothing is scheduled again
+                remove(subscriber);
+                subscriber.queue.clear();
+                return;
+            }
+            subscriber.draining.set(false);
+            // An event offered after the last poll but before the reset would otherwise be stranded
+            if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> set = subscribers.get(subscriber.key);
+        if (set != null && set.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.key, (k, s) -> s.isEmpty() ? null : s);
+        }
+    }
+
+    private static String key(String barber, LocalDate date) {
+        return barber + '|' + date;
+    }
+
+    private static final class Subscriber {
+        final String key;
+        final SseEmitter emitter;
+        final BlockingQueue<SlotEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(String key, SseEmitter emitter, int bufferSize) {
+            this.key = key;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.silla.server.service;
+
+/**
+ * Thrown when a booking targets a barber/date/time that is already taken.
+ */
+public class SlotUnavailableException extends RuntimeException {
+
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
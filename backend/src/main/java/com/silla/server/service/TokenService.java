@@ -0,0 +1,214 @@
+package com.silla.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.silla.server.dto.AuthResponse;
+import com.silla.server.model.User;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Issues and verifies HS256 JSON Web Tokens. A request presenting one is
+ * authenticated with one HMAC and no database or BCrypt work. The token is
+ * signed, not encrypted, so it carries only the subject and roles, never
+ * the customer's contact details. With no configured secret a random one is
+ * generated, and tokens then stop working on restart.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    public static final String ROLE_CUSTOMER = "customer";
+    public static final String ROLE_ADMIN = "admin";
+
+    @Value("${silla.auth.token-secret:}")
+    private String secret;
+
+    @Value("${silla.auth.token-ttl-minutes:720}")
+    private long ttlMinutes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Mac prototype;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        byte[] key;
+        if (secret == null || secret.isEmpty()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            log.warn("silla.auth.token-secret is not set; using a random key, tokens will not survive a restart");
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            if (key.length < 32) {
+                throw new IllegalStateException("silla.auth.token-secret must be at least 32 bytes");
+            }
+        }
+        prototype = Mac.getInstance(ALGORITHM);
+        prototype.init(new SecretKeySpec(key, ALGORITHM));
+    }
+
+    /** A customer token, returned together with the profile it was issued for. */
+    public AuthResponse issue(User user) {
+        Claims claims = issue(String.valueOf(user.getId()), List.of(ROLE_CUSTOMER));
+        return session(user, claims);
+    }
+
+    public Claims issue(String subject, List<String> roles) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(ttlMinutes * 60);
+        ObjectNode claims = objectMapper.createObjectNode()
+                .put("sub", subject)
+                .put("iat", now.getEpochSecond())
+                .put("exp", expiresAt.getEpochSecond());
+        roles.forEach(claims.putArray("roles")::add);
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        String signingInput = HEADER + '.' + payload;
+        String token = signingInput + '.' + ENCODER.encodeToString(sign(signingInput));
+        return new Claims(subject, roles, token, expiresAt);
+    }
+
+    /** The login response for {@code user} holding a token verified or issued earlier. */
+    public static AuthResponse session(User user, Claims claims) {
+        return new AuthResponse(user.getId(), user.getName(), user.getSurname(), user.getEmail(), user.getPhone(),
+                claims.getToken(), claims.getExpiresAt());
+    }
+
+    /**
+     * Returns the claims of a valid, unexpired token. Anything else (bad
+     * signature, other algorithm, malformed, expired) is empty.
+     */
+    public Optional<Claims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0
+                || !HEADER.equals(token.substring(0, first))) {
+            return Optional.empty();
+        }
+        try {
+            byte[] signature = DECODER.decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, second)))) {
+                return Optional.empty();
+            }
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+            Instant expiresAt = Instant.ofEpochSecond(claims.path("exp").asLong());
+            if (!expiresAt.isAfter(Instant.now())) {
+                return Optional.empty();
+            }
+            String subject = claims.path("sub").asText(null);
+            if (subject == null) {
+                return Optional.empty();
+            }
+            List<String> roles = new ArrayList<>();
+            claims.path("roles").forEach(role -> roles.add(role.asText()));
+            return Optional.of(new Claims(subject, roles, token, expiresAt));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Extracts the token from an {@code Authorization: Bearer ...} header value. */
+    public Optional<Claims> verifyHeader(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return Optional.empty();
+        }
+        return verify(authorization.substring(7).trim());
+    }
+
+    /** Whether an {@code Authorization} header value carries a valid admin token. */
+    public boolean isAdmin(String authorization) {
+        return verifyHeader(authorization).filter(claims -> claims.hasRole(ROLE_ADMIN)).isPresent();
+    }
+
+    // Mac is not thread-safe; a clone of the keyed prototype skips the key setup
+    private byte[] sign(String signingInput) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static class Claims {
+        private final String subject;
+        private final List<String> roles;
+        private final String token;
+        private final Instant expiresAt;
+
+        public Claims(String subject, List<String> roles, String token, Instant expiresAt) {
+            this.subject = subject;
+            this.roles = List.copyOf(roles);
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean hasRole(String role) {
+            return roles.contains(role);
+        }
+
+        /** The customer's user id; null for other tokens. */
+        public Long getUserId() {
+            if (!hasRole(ROLE_CUSTOMER)) {
+                return null;
+            }
+            try {
+                return Long.valueOf(subject);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Bookings past the retention horizon, moved out of bookings by ArchiveService
+-- so the live table only holds recent and upcoming appointments. Ids are kept;
+-- customer fields are NULL in rows archived with anonymization.
+CREATE TABLE bookings_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    barber VARCHAR(255),
+    service VARCHAR(255),
+    date DATE,
+    time TIME,
+    name VARCHAR(255),
+    surname VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    message VARCHAR(255),
+    price FLOAT(53) NOT NULL,
+    timestamp TIMESTAMP(6),
+    duration_minutes INTEGER,
+    locale VARCHAR(8),
+    archived_at TIMESTAMP(6) NOT NULL,
+    anonymized BOOLEAN NOT NULL
+);
+
+CREATE INDEX idx_booking_archive_date ON bookings_archive (date);
+CREATE INDEX idx_booking_archive_timestamp ON bookings_archive (timestamp);
@@ -0,0 +1,10 @@
+-- uk_booking_slot is only in V1, which databases baselined at V1 skipped. Drop double
+-- bookings made before admission was serialized, keeping the oldest row, then add it
+-- (again, on databases created by V1). booking_daily_stats of the affected days is
+-- corrected by the nightly reconcile.
+DELETE FROM bookings b
+WHERE EXISTS (SELECT 1 FROM bookings o
+              WHERE o.barber = b.barber AND o.date = b.date AND o.time = b.time AND o.id < b.id);
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS uk_booking_slot;
+ALTER TABLE bookings ADD CONSTRAINT uk_booking_slot UNIQUE (barber, date, time);
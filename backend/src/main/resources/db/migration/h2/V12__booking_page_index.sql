@@ -0,0 +1,7 @@
+-- The admin list pages by (timestamp, id) descending: with id in the index a page is one
+-- range scan from the cursor instead of re-sorting the rows that share a timestamp.
+DROP INDEX IF EXISTS idx_booking_timestamp;
+CREATE INDEX idx_booking_timestamp_id ON bookings (timestamp, id);
+
+DROP INDEX IF EXISTS idx_booking_archive_timestamp;
+CREATE INDEX idx_booking_archive_timestamp_id ON bookings_archive (timestamp, id);
@@ -0,0 +1,42 @@
+-- Schema as generated by Hibernate before versioned migrations were introduced.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE IF NOT EXISTS barbers (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    description_en CLOB,
+    description_it CLOB,
+    img CLOB,
+    name VARCHAR(255),
+    role_key VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    barber VARCHAR(255),
+    date VARCHAR(255),
+    email VARCHAR(255),
+    message VARCHAR(255),
+    name VARCHAR(255),
+    phone VARCHAR(255),
+    price FLOAT(53) NOT NULL,
+    service VARCHAR(255),
+    surname VARCHAR(255),
+    time VARCHAR(255),
+    timestamp TIMESTAMP(6),
+    CONSTRAINT uk_booking_slot UNIQUE (barber, date, time)
+);
+
+CREATE TABLE IF NOT EXISTS day_off (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    barber_id VARCHAR(255),
+    date DATE
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    surname VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Booking date/time were stored as 'YYYY-MM-DD' / 'HH:mm' strings; convert in place.
+ALTER TABLE bookings ALTER COLUMN date SET DATA TYPE DATE;
+ALTER TABLE bookings ALTER COLUMN time SET DATA TYPE TIME;
+
+-- (barber, date, time) is already covered by uk_booking_slot; the admin list sorts by timestamp
+CREATE INDEX IF NOT EXISTS idx_booking_timestamp ON bookings (timestamp);
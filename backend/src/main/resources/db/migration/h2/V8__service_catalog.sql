@@ -0,0 +1,26 @@
+-- Bookable services; bookings keep referring to them by id ("cut", "combo", ...)
+CREATE TABLE services (
+    id VARCHAR(64) NOT NULL PRIMARY KEY,
+    name_it VARCHAR(255) NOT NULL,
+    name_en VARCHAR(255) NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    price FLOAT(53) NOT NULL
+);
+
+-- Barbers offering a service; none listed means every barber
+CREATE TABLE service_barbers (
+    service_id VARCHAR(64) NOT NULL REFERENCES services (id),
+    barber_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (service_id, barber_id)
+);
+
+-- The services and prices the booking page offered until now
+INSERT INTO services (id, name_it, name_en, duration_minutes, price) VALUES
+    ('cut', 'Taglio Uomo', 'Men''s Cut', 30, 30),
+    ('beard', 'Rasatura Barba', 'Beard Trim', 30, 20),
+    ('combo', 'Taglio + Barba', 'Cut + Beard', 60, 45),
+    ('kid', 'Taglio Bambino', 'Kid''s Cut', 30, 25);
+
+-- Length of the appointment, copied from the service when booked; older rows take one slot
+ALTER TABLE bookings ADD COLUMN duration_minutes INTEGER;
+UPDATE bookings SET duration_minutes = (SELECT s.duration_minutes FROM services s WHERE s.id = bookings.service);
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS barber_images (
+    barber_id VARCHAR(255) NOT NULL PRIMARY KEY,
+    content_type VARCHAR(255),
+    data BYTEA,
+    etag VARCHAR(255),
+    updated_at TIMESTAMP(6)
+);
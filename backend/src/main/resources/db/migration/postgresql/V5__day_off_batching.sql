@@ -0,0 +1,10 @@
+-- Day-offs are inserted in batches, which needs sequence ids (IDENTITY disables JDBC batching).
+-- Hibernate's pooled optimizer treats each value as the top of a 50-id block, so start one block above the current max.
+CREATE SEQUENCE IF NOT EXISTS day_off_seq START WITH 50 INCREMENT BY 50;
+SELECT setval('day_off_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM day_off), false);
+
+-- Drop duplicate day-offs created before the uniqueness check existed, keeping the oldest row
+DELETE FROM day_off d
+WHERE EXISTS (SELECT 1 FROM day_off o WHERE o.barber_id = d.barber_id AND o.date = d.date AND o.id < d.id);
+
+ALTER TABLE day_off ADD CONSTRAINT uk_day_off_barber_date UNIQUE (barber_id, date);
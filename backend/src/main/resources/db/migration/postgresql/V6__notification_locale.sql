@@ -0,0 +1,6 @@
+-- Language the customer used on the site ('it' / 'en'); older rows fall back to Italian
+ALTER TABLE bookings ADD COLUMN locale VARCHAR(8);
+ALTER TABLE users ADD COLUMN locale VARCHAR(8);
+
+-- HTML alternative sent next to the plain-text body
+ALTER TABLE outbox_messages ADD COLUMN html_body VARCHAR(20000);
@@ -0,0 +1,5 @@
+-- Reminders already queued for a booking: 0 none, 1 the 24h one, 2 the 2h one
+ALTER TABLE bookings ADD COLUMN reminder_stage INTEGER DEFAULT 0 NOT NULL;
+
+-- The reminder engine loads bookings by date/time range
+CREATE INDEX IF NOT EXISTS idx_booking_date_time ON bookings (date, time);
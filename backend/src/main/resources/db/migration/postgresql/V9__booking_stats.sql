@@ -0,0 +1,18 @@
+-- Bookings, revenue and booked minutes per day, barber and service, kept up to
+-- date by every booking write (AnalyticsService) and reconciled nightly.
+-- Unassigned bookings and bookings without a service are stored under ''.
+CREATE TABLE booking_daily_stats (
+    date DATE NOT NULL,
+    barber VARCHAR(255) NOT NULL,
+    service VARCHAR(255) NOT NULL,
+    bookings INTEGER NOT NULL,
+    revenue DOUBLE PRECISION NOT NULL,
+    booked_minutes INTEGER NOT NULL,
+    PRIMARY KEY (date, barber, service)
+);
+
+INSERT INTO booking_daily_stats (date, barber, service, bookings, revenue, booked_minutes)
+SELECT date, COALESCE(barber, ''), COALESCE(service, ''), COUNT(*), SUM(price), SUM(CASE WHEN duration_minutes > 0 THEN duration_minutes ELSE 30 END)
+FROM bookings
+WHERE date IS NOT NULL
+GROUP BY date, COALESCE(barber, ''), COALESCE(service, '');
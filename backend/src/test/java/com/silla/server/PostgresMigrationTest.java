@@ -0,0 +1,82 @@
+package com.silla.server;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** The db/migration/postgresql scripts on an empty schema, then the entities validated against it. */
+class PostgresMigrationTest {
+
+    private static final String INSERT_BOOKING = "INSERT INTO bookings (barber, service, date, time, name, surname,"
+            + " email, phone, price) VALUES ('lele', 'cut', DATE '2030-03-04', TIME '10:00', 'Ada', 'Test',"
+            + " 'ada@example.com', '3330000000', 30)";
+
+    private static PostgresTestDatabase database;
+    private static String schema;
+    private static ConfigurableApplicationContext node;
+
+    @BeforeAll
+    static void migrate() {
+        database = PostgresTestDatabase.get();
+        schema = database.newSchema();
+        // Fails to start if a script fails or an entity does not match the migrated tables
+        node = database.startNode(schema);
+    }
+
+    @AfterAll
+    static void drop() throws Exception {
+        if (node != null) {
+            node.close();
+        }
+        if (schema != null) {
+            database.dropSchema(schema);
+        }
+    }
+
+    @Test
+    void everyScriptIsApplied() throws Exception {
+        List<String> scripts = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/postgresql/V*__*.sql")) {
+            String name = resource.getFilename();
+            scripts.add(name.substring(1, name.indexOf("__")));
+        }
+
+        List<String> applied = new ArrayList<>();
+        try (Connection connection = database.connect(schema);
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT version, success FROM flyway_schema_history"
+                        + " WHERE version IS NOT NULL")) {
+            while (rs.next()) {
+                assertThat(rs.getBoolean("success")).as("V%s succeeded", rs.getString("version")).isTrue();
+                applied.add(rs.getString("version"));
+            }
+        }
+        assertThat(applied).containsExactlyInAnyOrderElementsOf(scripts);
+    }
+
+    @Test
+    void slotIsUniquePerBarber() throws Exception {
+        try (Connection connection = database.connect(schema);
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate(INSERT_BOOKING);
+            assertThatThrownBy(() -> statement.executeUpdate(INSERT_BOOKING))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("uk_booking_slot");
+            statement.executeUpdate("DELETE FROM bookings WHERE email = 'ada@example.com'");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.silla.server;
+
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The PostgreSQL server of the postgres-profile tests: the one named by
+ * -Dsilla.test.postgres-url (with -Dsilla.test.postgres-username and
+ * -password, default silla and empty), otherwise a postgres:16 container when
+ * Docker is available. With neither the calling test is skipped. Each
+ * {@link #newSchema()} is an empty schema, so Flyway migrates it from V1 as on
+ * a fresh install.
+ */
+public final class PostgresTestDatabase {
+
+    private static PostgresTestDatabase instance;
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private PostgresTestDatabase(String url, String username, String password) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static synchronized PostgresTestDatabase get() {
+        if (instance == null) {
+            String url = System.getProperty("silla.test.postgres-url");
+            if (url != null && !url.isBlank()) {
+                instance = new PostgresTestDatabase(url,
+                        System.getProperty("silla.test.postgres-username", "silla"),
+                        System.getProperty("silla.test.postgres-password", ""));
+            } else {
+                Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                        "Neither -Dsilla.test.postgres-url nor Docker is available");
+                // Stopped by the Testcontainers reaper when the test JVM exits
+                PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine");
+                container.start();
+                instance = new PostgresTestDatabase(container.getJdbcUrl(), container.getUsername(),
+                        container.getPassword());
+            }
+        }
+        return instance;
+    }
+
+    public String newSchema() {
+        return "silla_test_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+
+    public String url(String schema) {
+        return url + (url.contains("?") ? '&' : '?') + "currentSchema=" + schema;
+    }
+
+    public Connection connect(String schema) throws SQLException {
+        return DriverManager.getConnection(url(schema), username, password);
+    }
+
+    public void dropSchema(String schema) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        }
+    }
+
+    /**
+     * Starts the application as one node of a postgres cluster on
+     * {@code schema}. The entities are validated against the migrated schema,
+     * as in production.
+     */
+    public ConfigurableApplicationContext startNode(String schema, String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url(schema),
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--silla.cluster.mode=postgres",
+                "--server.port=0"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(SillaServerApplication.class)
+                .profiles("test", "postgres")
+                .run(arguments.toArray(String[]::new));
+    }
+}
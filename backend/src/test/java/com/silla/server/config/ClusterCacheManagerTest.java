@@ -0,0 +1,45 @@
+package com.silla.server.config;
+
+import com.silla.server.model.DayOff;
+import com.silla.server.repository.DayOffRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Cache evictions made in a transaction, against the in-memory database. */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClusterCacheManagerTest {
+
+    @Autowired
+    private DayOffRepository dayOffRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void readBeforeTheCommitDoesNotKeepTheOldRows() {
+        DayOff dayOff = new DayOff("lele", LocalDate.of(2031, 5, 6));
+        dayOffRepository.findAll();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dayOffRepository.save(dayOff);
+            // Another request reading the committed rows meanwhile
+            CompletableFuture.runAsync(dayOffRepository::findAll).orTimeout(10, TimeUnit.SECONDS).join();
+        });
+
+        try {
+            assertThat(dayOffRepository.findAll()).extracting(DayOff::getDate).contains(dayOff.getDate());
+        } finally {
+            dayOffRepository.delete(dayOff);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.silla.server.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogfmtTest {
+
+    private static final String PATTERN = "level=%level thread=%quoted(%thread) msg=%quotedMsg%quotedKvp%quotedEx";
+
+    @Test
+    void quoteEscapesBackslashesBeforeQuotes() {
+        assertThat(Logfmt.quote("a\\\" b=\"c\"\n\r\t\u0001"))
+                .isEqualTo("\"a\\\\\\\" b=\\\"c\\\"\\n\\r\\t\\u0001\"");
+    }
+
+    @Test
+    void eventStaysOnOneLine() {
+        LoggerContext context = new LoggerContext();
+        Logger logger = context.getLogger("test");
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.WARN,
+                "forged\\\" level=ERROR\nnext", new IllegalStateException("bad \"state\""), null);
+        event.setThreadName("main thread");
+        event.setKeyValuePairs(List.of(new KeyValuePair("email", "x\" admin=\"true")));
+
+        String line = layout(context).doLayout(event);
+
+        assertThat(line).doesNotContain("\n").startsWith("level=WARN thread=\"main thread\" msg=\"forged\\\\\\\" level=ERROR\\nnext\""
+                + " email=\"x\\\" admin=\\\"true\" ex=\"java.lang.IllegalStateException: bad \\\"state\\\"\\n\\tat ");
+        assertThat(line).endsWith("\"");
+    }
+
+    @Test
+    void noExceptionNoField() {
+        LoggerContext context = new LoggerContext();
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), context.getLogger("test"), Level.INFO,
+                "plain", null, null);
+        event.setThreadName("main thread");
+
+        assertThat(layout(context).doLayout(event)).isEqualTo("level=INFO thread=\"main thread\" msg=\"plain\"");
+    }
+
+    private static PatternLayout layout(LoggerContext context) {
+        PatternLayout layout = new PatternLayout();
+        layout.setContext(context);
+        layout.getInstanceConverterMap().put("quoted", Logfmt.Quoted.class.getName());
+        layout.getInstanceConverterMap().put("quotedMsg", Logfmt.Message.class.getName());
+        layout.getInstanceConverterMap().put("quotedKvp", Logfmt.KeyValues.class.getName());
+        layout.getInstanceConverterMap().put("quotedEx", Logfmt.StackTrace.class.getName());
+        layout.setPattern(PATTERN);
+        layout.start();
+        return layout;
+    }
+}
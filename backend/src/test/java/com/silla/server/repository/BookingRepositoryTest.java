@@ -0,0 +1,74 @@
+package com.silla.server.repository;
+
+import com.silla.server.dto.BookingSummary;
+import com.silla.server.model.Booking;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingRepositoryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void pagesWalkEveryRowOnceInOrder() {
+        LocalDate date = LocalDate.now().plusDays(80);
+        LocalDateTime created = LocalDateTime.of(2030, 5, 1, 12, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Three rows share each timestamp, so the id has to break the ties
+            Booking booking = booking(i % 2 == 0 ? "lele" : "riccardo", date, LocalTime.of(9, 0).plusMinutes(30L * i));
+            booking.setTimestamp(created.plusMinutes(i / 3));
+            expected.add(bookingRepository.save(booking).getId());
+        }
+
+        List<BookingSummary> all = walk(null, date, 3);
+        assertThat(all).extracting(BookingSummary::getTimestamp).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(all).extracting(BookingSummary::getId).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(expected);
+        for (int i = 1; i < all.size(); i++) {
+            if (all.get(i).getTimestamp().equals(all.get(i - 1).getTimestamp())) {
+                assertThat(all.get(i).getId()).isLessThan(all.get(i - 1).getId());
+            }
+        }
+
+        assertThat(walk("lele", date, 2)).extracting(BookingSummary::getBarber).hasSize(4).containsOnly("lele");
+    }
+
+    private List<BookingSummary> walk(String barber, LocalDate date, int limit) {
+        List<BookingSummary> rows = new ArrayList<>();
+        List<BookingSummary> page = bookingRepository.findPage(barber, null, date, date, null, null, limit);
+        while (!page.isEmpty()) {
+            rows.addAll(page);
+            BookingSummary last = page.get(page.size() - 1);
+            page = bookingRepository.findPage(barber, null, date, date, last.getTimestamp(), last.getId(), limit);
+        }
+        return rows;
+    }
+
+    private static Booking booking(String barber, LocalDate date, LocalTime time) {
+        Booking booking = new Booking();
+        booking.setBarber(barber);
+        booking.setService("cut");
+        booking.setDate(date);
+        booking.setTime(time);
+        booking.setName("Page");
+        booking.setSurname("Test");
+        booking.setEmail("page@example.com");
+        booking.setPhone("3330000000");
+        booking.setPrice(30);
+        booking.setLocale("it");
+        return booking;
+    }
+}
@@ -0,0 +1,101 @@
+package com.silla.server.service;
+
+import com.silla.server.model.Booking;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The booking_daily_stats rollups against the in-memory database. */
+@SpringBootTest
+@ActiveProfiles("test")
+class AnalyticsServiceTest {
+
+    private static final List<String> BARBERS = List.of("lele", "riccardo", "jurgen", "stefano");
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private BookingAdmissionService bookingAdmissionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reconcileCountsEachFixedRowOnce() {
+        LocalDate date = LocalDate.now().plusDays(60);
+        bookingAdmissionService.admit(booking("lele", date, LocalTime.of(10, 0), "drift"));
+        bookingAdmissionService.admit(booking("riccardo", date, LocalTime.of(10, 0), "missing"));
+        analyticsService.reconcile();
+
+        jdbcTemplate.update("UPDATE booking_daily_stats SET bookings = 5 WHERE date = ? AND barber = 'lele'",
+                Date.valueOf(date));
+        jdbcTemplate.update("DELETE FROM booking_daily_stats WHERE date = ? AND barber = 'riccardo'",
+                Date.valueOf(date));
+        jdbcTemplate.update("INSERT INTO booking_daily_stats (date, barber, service, bookings, revenue, booked_minutes)"
+                + " VALUES (?, 'jurgen', 'cut', 2, 60, 60)", Date.valueOf(date));
+
+        assertThat(analyticsService.reconcile()).isEqualTo(3);
+        assertThat(analyticsService.reconcile()).isZero();
+        assertThat(statsOf(date)).containsExactly("lele|1", "riccardo|1");
+    }
+
+    @Test
+    void reconcileKeepsBookingsAdmittedMeanwhile() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(61);
+        AtomicBoolean admitting = new AtomicBoolean(true);
+        CompletableFuture<Void> reconciling = CompletableFuture.runAsync(() -> {
+            while (admitting.get()) {
+                analyticsService.reconcile();
+            }
+        });
+        List<CompletableFuture<Void>> admissions = new ArrayList<>();
+        for (String barber : BARBERS) {
+            admissions.add(CompletableFuture.runAsync(() -> {
+                for (int slot = 0; slot < 10; slot++) {
+                    LocalTime time = LocalTime.of(9, 0).plusMinutes(30L * slot);
+                    bookingAdmissionService.admit(booking(barber, date, time, barber + slot));
+                }
+            }));
+        }
+        CompletableFuture.allOf(admissions.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        admitting.set(false);
+        reconciling.get(60, TimeUnit.SECONDS);
+
+        assertThat(statsOf(date)).containsExactly("jurgen|10", "lele|10", "riccardo|10", "stefano|10");
+        assertThat(analyticsService.reconcile()).isZero();
+    }
+
+    private List<String> statsOf(LocalDate date) {
+        return jdbcTemplate.queryForList("SELECT barber || '|' || bookings FROM booking_daily_stats"
+                + " WHERE date = ? ORDER BY barber", String.class, Date.valueOf(date));
+    }
+
+    private static Booking booking(String barber, LocalDate date, LocalTime time, String name) {
+        Booking booking = new Booking();
+        booking.setBarber(barber);
+        booking.setService("cut");
+        booking.setDate(date);
+        booking.setTime(time);
+        booking.setName(name);
+        booking.setSurname("Test");
+        booking.setEmail(name + "@example.com");
+        booking.setPhone("3330000000");
+        booking.setPrice(30);
+        booking.setLocale("it");
+        return booking;
+    }
+}
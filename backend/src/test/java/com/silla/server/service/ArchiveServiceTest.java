@@ -0,0 +1,52 @@
+package com.silla.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Archiving against the in-memory database with the default 365-day horizon. */
+@SpringBootTest
+@ActiveProfiles("test")
+class ArchiveServiceTest {
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesOnlyBookingsPastTheHorizon() {
+        LocalDate old = archiveService.defaultCutoff().minusDays(1);
+        LocalDate recent = LocalDate.now().minusDays(10);
+        insert(old, "archive-old@example.com");
+        insert(recent, "archive-recent@example.com");
+
+        assertThatThrownBy(() -> archiveService.archive(recent.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(archiveService.archive(archiveService.defaultCutoff())).isPositive();
+
+        assertThat(countBy("bookings_archive", "archive-old@example.com")).isEqualTo(1);
+        assertThat(countBy("bookings", "archive-old@example.com")).isZero();
+        assertThat(countBy("bookings", "archive-recent@example.com")).isEqualTo(1);
+        jdbcTemplate.update("DELETE FROM bookings WHERE email = 'archive-recent@example.com'");
+    }
+
+    private void insert(LocalDate date, String email) {
+        jdbcTemplate.update("INSERT INTO bookings (barber, service, date, time, name, surname, email, phone, price)"
+                + " VALUES ('lele', 'cut', ?, TIME '10:00', 'Ada', 'Test', ?, '3330000000', 30)",
+                Date.valueOf(date), email);
+    }
+
+    private int countBy(String table, String email) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE email = ?", Integer.class, email);
+    }
+}
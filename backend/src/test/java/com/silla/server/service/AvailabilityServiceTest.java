@@ -0,0 +1,46 @@
+package com.silla.server.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The in-memory occupancy cache against the in-memory database. */
+@SpringBootTest
+@ActiveProfiles("test")
+class AvailabilityServiceTest {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void cachesOnlyKnownBarbersWithinTheWindow() {
+        LocalDate date = LocalDate.now().plusDays(80);
+        double before = cachedDays();
+
+        availabilityService.getReservedTimes("nobody", date);
+        availabilityService.getFreeTimes("lele", LocalDate.now().plusYears(5));
+        availabilityService.isDayOff("lele", LocalDate.now().minusDays(3));
+        availabilityService.suggest(null, LocalDate.now().plusYears(5), LocalDate.now().plusYears(5).plusDays(30), 30,
+                5, LocalDateTime.now());
+        assertThat(cachedDays()).isEqualTo(before);
+
+        availabilityService.getReservedTimes("lele", date);
+        assertThat(cachedDays()).isEqualTo(before + 1);
+        assertThat(availabilityService.isKnownBarber("lele")).isTrue();
+        assertThat(availabilityService.isKnownBarber("nobody")).isFalse();
+    }
+
+    private double cachedDays() {
+        return meterRegistry.get("silla.availability.cached.days").gauge().value();
+    }
+}
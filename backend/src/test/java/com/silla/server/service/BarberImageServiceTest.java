@@ -0,0 +1,68 @@
+package com.silla.server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Portrait uploads and the variant cache, against the in-memory database. */
+@SpringBootTest
+@ActiveProfiles("test")
+class BarberImageServiceTest {
+
+    private static final String BARBER = "lele";
+
+    @Autowired
+    private BarberImageService barberImageService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void deleteImage() {
+        barberImageService.delete(BARBER);
+    }
+
+    @Test
+    void loadDuringAnUploadDoesNotKeepTheOldImage() throws Exception {
+        barberImageService.store(BARBER, png(0x112233));
+        barberImageService.load(BARBER, null, null);
+        byte[] replacement = png(0x445566);
+
+        String path = transactionTemplate.execute(status -> {
+            String stored = barberImageService.store(BARBER, replacement);
+            // A request for the portrait while the upload has not committed yet
+            CompletableFuture.runAsync(() -> barberImageService.load(BARBER, null, null))
+                    .orTimeout(10, TimeUnit.SECONDS).join();
+            return stored;
+        });
+
+        String version = path.substring(path.indexOf("?v=") + 3);
+        assertThat(barberImageService.load(BARBER, null, null)).get()
+                .satisfies(image -> assertThat(image.getData()).isEqualTo(replacement));
+        assertThat(barberImageService.load(BARBER, null, version)).get()
+                .satisfies(image -> assertThat(image.getEtag()).startsWith(version));
+    }
+
+    private static byte[] png(int rgb) throws Exception {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,114 @@
+package com.silla.server.service;
+
+import com.silla.server.model.Booking;
+import com.silla.server.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Concurrent admissions against the in-memory database, as POST /api/bookings runs them. */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingAdmissionServiceTest {
+
+    private static final int THREADS = 16;
+    private static final List<String> BARBERS = List.of("lele", "riccardo", "jurgen", "stefano");
+
+    @Autowired
+    private BookingAdmissionService bookingAdmissionService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void sameSlotIsAdmittedOnce() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(40);
+        List<Callable<Booking>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Booking booking = booking("lele", date, LocalTime.of(10, 0), "client" + i);
+            attempts.add(() -> bookingAdmissionService.admit(booking));
+        }
+
+        List<Object> outcomes = runTogether(attempts);
+
+        assertThat(outcomes).filteredOn(Booking.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(SlotUnavailableException.class::isInstance).hasSize(THREADS - 1);
+        assertThat(bookingRepository.findByDateAndBarber(date, "lele")).hasSize(1);
+    }
+
+    @Test
+    void differentBarbersAreAllAdmitted() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(41);
+        List<Callable<Booking>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String barber = BARBERS.get(i % BARBERS.size());
+            // Each barber gets distinct slots, every barber the same times
+            LocalTime time = LocalTime.of(10, 0).plusMinutes(30L * (i / BARBERS.size()));
+            Booking booking = booking(barber, date, time, "client" + i);
+            attempts.add(() -> bookingAdmissionService.admit(booking));
+        }
+
+        List<Object> outcomes = runTogether(attempts);
+
+        assertThat(outcomes).allMatch(Booking.class::isInstance);
+        for (String barber : BARBERS) {
+            assertThat(bookingRepository.findByDateAndBarber(date, barber)).hasSize(THREADS / BARBERS.size());
+        }
+    }
+
+    // Starts every attempt at once; each outcome is the admitted booking or the exception thrown
+    private static List<Object> runTogether(List<Callable<Booking>> attempts) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(attempts.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Booking> attempt : attempts) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        return attempt.call();
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Booking booking(String barber, LocalDate date, LocalTime time, String name) {
+        Booking booking = new Booking();
+        booking.setBarber(barber);
+        booking.setService("cut");
+        booking.setDate(date);
+        booking.setTime(time);
+        booking.setName(name);
+        booking.setSurname("Test");
+        booking.setEmail(name + "@example.com");
+        booking.setPhone("3330000000");
+        booking.setPrice(30);
+        booking.setLocale("it");
+        return booking;
+    }
+}
@@ -0,0 +1,119 @@
+package com.silla.server.service;
+
+import com.silla.server.dto.ImportReport;
+import com.silla.server.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** NDJSON imports into the in-memory database, two rows per chunk. */
+@SpringBootTest(properties = "silla.import.chunk-size=2")
+@ActiveProfiles("test")
+class BookingImportServiceTest {
+
+    private static final String CSV_HEADER = "barber,service,date,time,name,surname,email\n";
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void failedRowDoesNotCostItsChunkOrItsSlot() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(70);
+        ImportReport report = importRows(
+                row("lele", "cut", date, "10:00", "x".repeat(300)), // too long for the column
+                row("lele", "cut", date, "11:00", "Rossi"),
+                row("lele", "cut", date, "10:00", "Bianchi"));
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(1);
+            assertThat(error.getError()).startsWith("Not imported");
+        });
+        assertThat(bookingRepository.findByDateAndBarber(date, "lele")).extracting("surname")
+                .containsExactlyInAnyOrder("Rossi", "Bianchi");
+    }
+
+    @Test
+    void rejectsServicesTheBarberDoesNotOffer() throws Exception {
+        jdbcTemplate.update("INSERT INTO services (id, name_it, name_en, duration_minutes, price)"
+                + " VALUES ('fade', 'Sfumatura', 'Fade', 30, 35)");
+        jdbcTemplate.update("INSERT INTO service_barbers (service_id, barber_id) VALUES ('fade', 'riccardo')");
+        cacheManager.getCache("services").clear();
+        LocalDate date = LocalDate.now().plusDays(71);
+
+        ImportReport report = importRows(
+                row("lele", "fade", date, "10:00", "Rossi"),
+                row("riccardo", "fade", date, "10:00", "Bianchi"));
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error ->
+                assertThat(error.getError()).isEqualTo("Service fade is not offered by lele"));
+        assertThat(bookingRepository.findByDateAndBarber(date, "riccardo")).singleElement()
+                .satisfies(booking -> assertThat(booking.getPrice()).isEqualTo(35));
+    }
+
+    @Test
+    void csvSkipsAnyNumberOfBlankLines() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(72);
+        String csv = CSV_HEADER + "\n".repeat(200_000) + csvRow(date, "10:00", "Rossi") + "\n";
+
+        ImportReport report = importCsv(csv);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).isEmpty();
+    }
+
+    @Test
+    void csvReportsAnUnterminatedQuoteAsOneBadRow() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(73);
+        String csv = CSV_HEADER + csvRow(date, "10:00", "\"Rossi") + "\n"
+                + "no closing quote on this line either\n".repeat(2_000);
+
+        ImportReport report = importCsv(csv);
+
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getErrors()).first().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getError()).startsWith("Record longer than");
+        });
+    }
+
+    private ImportReport importRows(String... rows) throws Exception {
+        byte[] body = String.join("\n", rows).getBytes(StandardCharsets.UTF_8);
+        return bookingImportService.importBookings(new ByteArrayInputStream(body), BookingExportService.Format.NDJSON,
+                false, false);
+    }
+
+    private ImportReport importCsv(String csv) throws Exception {
+        return bookingImportService.importBookings(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                BookingExportService.Format.CSV, false, false);
+    }
+
+    private static String csvRow(LocalDate date, String time, String surname) {
+        return "lele,cut," + date + "," + time + ",Mario," + surname + ",mario@example.com";
+    }
+
+    private static String row(String barber, String service, LocalDate date, String time, String surname) {
+        return "{\"barber\":\"" + barber + "\",\"service\":\"" + service + "\",\"date\":\"" + date + "\",\"time\":\""
+                + time + "\",\"name\":\"Mario\",\"surname\":\"" + surname + "\",\"email\":\"mario@example.com\"}";
+    }
+}
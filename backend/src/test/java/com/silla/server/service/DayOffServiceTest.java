@@ -0,0 +1,41 @@
+package com.silla.server.service;
+
+import com.silla.server.repository.DayOffRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Day-off ranges against the in-memory database, with the default cap of 5000 barber-days. */
+@SpringBootTest
+@ActiveProfiles("test")
+class DayOffServiceTest {
+
+    @Autowired
+    private DayOffService dayOffService;
+
+    @Autowired
+    private DayOffRepository dayOffRepository;
+
+    @Test
+    void rejectsRequestsOverTheCap() {
+        LocalDate start = LocalDate.of(2032, 1, 1);
+        List<String> barbers = List.of("lele", "riccardo");
+
+        assertThatThrownBy(() -> dayOffService.createRanges(barbers,
+                List.<LocalDate[]>of(new LocalDate[] { start, start.plusDays(2500) })))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At most 5000 barber-days per request");
+        assertThat(dayOffRepository.findByBarberIdInAndDateBetween(barbers, start, start.plusDays(2500))).isEmpty();
+
+        assertThat(dayOffService.createRanges(barbers,
+                List.<LocalDate[]>of(new LocalDate[] { start, start.plusDays(2499) }))).hasSize(5000);
+        dayOffRepository.deleteAll(dayOffRepository.findByBarberIdInAndDateBetween(barbers, start, start.plusDays(2499)));
+    }
+}
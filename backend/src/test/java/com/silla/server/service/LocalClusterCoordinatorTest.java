@@ -0,0 +1,109 @@
+package com.silla.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalClusterCoordinatorTest {
+
+    private final LocalClusterCoordinator coordinator = new LocalClusterCoordinator();
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() throws Exception {
+        LocalDate date = LocalDate.of(2030, 1, 7);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> coordinator.withAdmissionLock("lele", date, () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Would block until release if the keys shared a lock
+        CompletableFuture<String> otherBarber = CompletableFuture.supplyAsync(
+                () -> coordinator.withAdmissionLock("riccardo", date, () -> "riccardo"));
+        CompletableFuture<String> otherDay = CompletableFuture.supplyAsync(
+                () -> coordinator.withAdmissionLock("lele", date.plusDays(1), () -> "next day"));
+        assertThat(otherBarber.get(5, TimeUnit.SECONDS)).isEqualTo("riccardo");
+        assertThat(otherDay.get(5, TimeUnit.SECONDS)).isEqualTo("next day");
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void sameKeyIsExclusive() throws Exception {
+        LocalDate date = LocalDate.of(2030, 1, 8);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> coordinator.withAdmissionLock("lele", date, () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(
+                () -> coordinator.withAdmissionLock("lele", date, () -> "second"));
+        Thread.sleep(200);
+        assertThat(waiter).isNotDone();
+
+        release.countDown();
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void locksAreDroppedOnceReleased() {
+        LocalDate date = LocalDate.of(2030, 1, 9);
+        int before = LocalClusterCoordinator.admissionLockCount();
+        for (int i = 0; i < 100; i++) {
+            coordinator.withAdmissionLock("barber" + i, date, () -> null);
+        }
+        assertThat(LocalClusterCoordinator.admissionLockCount()).isEqualTo(before);
+    }
+
+    @Test
+    void multiDayLockHoldsEveryDay() throws Exception {
+        LocalDate monday = LocalDate.of(2030, 1, 14);
+        int before = LocalClusterCoordinator.admissionLockCount();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> importer = CompletableFuture.runAsync(() -> coordinator.withAdmissionLocks(
+                Map.of("lele", Set.of(monday, monday.plusDays(1)), "riccardo", Set.of(monday)), () -> {
+                    held.countDown();
+                    await(release);
+                    return null;
+                }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> tuesday = CompletableFuture.supplyAsync(
+                () -> coordinator.withAdmissionLock("lele", monday.plusDays(1), () -> "tuesday"));
+        CompletableFuture<String> otherBarber = CompletableFuture.supplyAsync(
+                () -> coordinator.withAdmissionLock("riccardo", monday.plusDays(1), () -> "riccardo"));
+        assertThat(otherBarber.get(5, TimeUnit.SECONDS)).isEqualTo("riccardo");
+        Thread.sleep(200);
+        assertThat(tuesday).isNotDone();
+
+        release.countDown();
+        assertThat(tuesday.get(5, TimeUnit.SECONDS)).isEqualTo("tuesday");
+        importer.get(5, TimeUnit.SECONDS);
+        assertThat(LocalClusterCoordinator.admissionLockCount()).isEqualTo(before);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.silla.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silla.server.PostgresTestDatabase;
+import com.silla.server.dto.SlotEvent;
+import com.silla.server.model.Booking;
+import com.silla.server.repository.BookingRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Two app contexts on one PostgreSQL schema, as two nodes behind a load balancer. */
+class PostgresClusterCoordinatorTest {
+
+    private static PostgresTestDatabase database;
+    private static String schema;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        database = PostgresTestDatabase.get();
+        schema = database.newSchema();
+        nodeA = database.startNode(schema);
+        nodeB = database.startNode(schema);
+    }
+
+    @AfterAll
+    static void stopNodes() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (schema != null) {
+            database.dropSchema(schema);
+        }
+    }
+
+    @Test
+    void jobRunsOnOneNodeAtATime() throws Exception {
+        ClusterCoordinator a = nodeA.getBean(ClusterCoordinator.class);
+        ClusterCoordinator b = nodeB.getBean(ClusterCoordinator.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> a.runExclusively("test-job", () -> {
+            running.countDown();
+            await(release);
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(b.runExclusively("test-job", () -> { })).isFalse();
+        assertThat(a.runExclusively("test-job", () -> { })).isFalse();
+        assertThat(b.runExclusively("other-job", () -> { })).isTrue();
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(b.runExclusively("test-job", () -> { })).isTrue();
+    }
+
+    @Test
+    void admissionLockIsExclusiveAcrossNodes() throws Exception {
+        ClusterCoordinator a = nodeA.getBean(ClusterCoordinator.class);
+        ClusterCoordinator b = nodeB.getBean(ClusterCoordinator.class);
+        LocalDate date = LocalDate.of(2030, 2, 4);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> a.withAdmissionLock("lele", date, () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(
+                () -> b.withAdmissionLock("lele", date, () -> "second"));
+        CompletableFuture<String> otherBarber = CompletableFuture.supplyAsync(
+                () -> b.withAdmissionLock("riccardo", date, () -> "riccardo"));
+        assertThat(otherBarber.get(5, TimeUnit.SECONDS)).isEqualTo("riccardo");
+        Thread.sleep(300);
+        assertThat(waiter).isNotDone();
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    void sameSlotIsAdmittedOnceAcrossNodes() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(50);
+        List<Callable<Booking>> attempts = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            BookingAdmissionService admission = (i % 2 == 0 ? nodeA : nodeB).getBean(BookingAdmissionService.class);
+            Booking booking = booking("lele", date, LocalTime.of(11, 0), "client" + i);
+            attempts.add(() -> admission.admit(booking));
+        }
+
+        List<Object> outcomes = runTogether(attempts);
+
+        assertThat(outcomes).filteredOn(Booking.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(SlotUnavailableException.class::isInstance).hasSize(15);
+        assertThat(nodeB.getBean(BookingRepository.class).findByDateAndBarber(date, "lele")).hasSize(1);
+    }
+
+    @Test
+    void slotEventsReachTheOtherNode() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        nodeB.getBean(ClusterCoordinator.class).subscribe(ClusterCoordinator.TOPIC_SLOT, received::add);
+        LocalDate date = LocalDate.now().plusDays(51);
+
+        nodeA.getBean(BookingAdmissionService.class).admit(booking("riccardo", date, LocalTime.of(15, 30), "notify"));
+
+        ObjectMapper objectMapper = nodeB.getBean(ObjectMapper.class);
+        SlotEvent event = null;
+        for (String payload; (payload = received.poll(10, TimeUnit.SECONDS)) != null; ) {
+            SlotEvent candidate = objectMapper.readValue(payload, SlotEvent.class);
+            if (date.equals(candidate.getDate())) {
+                event = candidate;
+                break;
+            }
+        }
+        assertThat(event).isNotNull();
+        assertThat(event.getType()).isEqualTo(SlotEvent.SLOT_TAKEN);
+        assertThat(event.getBarber()).isEqualTo("riccardo");
+        assertThat(event.getTime()).isEqualTo("15:30");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Starts every attempt at once; each outcome is the admitted booking or the exception thrown
+    private static List<Object> runTogether(List<Callable<Booking>> attempts) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(attempts.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Booking> attempt : attempts) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        return attempt.call();
+                    } catch (RuntimeException e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Booking booking(String barber, LocalDate date, LocalTime time, String name) {
+        Booking booking = new Booking();
+        booking.setBarber(barber);
+        booking.setService("cut");
+        booking.setDate(date);
+        booking.setTime(time);
+        booking.setName(name);
+        booking.setSurname("Test");
+        booking.setEmail(name + "@example.com");
+        booking.setPhone("3330000000");
+        booking.setPrice(30);
+        booking.setLocale("it");
+        return booking;
+    }
+}
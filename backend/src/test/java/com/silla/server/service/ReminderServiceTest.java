@@ -0,0 +1,68 @@
+package com.silla.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silla.server.dto.SlotEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The reminder wheel against the in-memory database, with a second node broadcasting its bookings. */
+@SpringBootTest(properties = "silla.reminders.enabled=true")
+@ActiveProfiles("test")
+class ReminderServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LocalClusterCoordinator otherNode = new LocalClusterCoordinator();
+
+    @BeforeEach
+    void joinOtherNode() {
+        otherNode.join();
+    }
+
+    @AfterEach
+    void leaveOtherNode() {
+        otherNode.leave();
+        jdbcTemplate.update("DELETE FROM bookings WHERE email = 'offgrid@example.com'");
+    }
+
+    @Test
+    void bookingOffTheGridOnAnotherNodeIsScheduled() throws Exception {
+        // Owes its 2h reminder within the loaded hours, starts 7 minutes past the slot it takes
+        LocalDateTime at = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(3).plusMinutes(7);
+        jdbcTemplate.update("INSERT INTO bookings (barber, service, date, time, name, surname, email, phone, price,"
+                + " reminder_stage) VALUES ('lele', 'cut', ?, ?, 'Ada', 'Test', 'offgrid@example.com', '3330000000',"
+                + " 30, ?)", Date.valueOf(at.toLocalDate()), Time.valueOf(at.toLocalTime()), ReminderService.DAY_BEFORE);
+        double before = scheduled();
+
+        String slot = at.truncatedTo(ChronoUnit.HOURS).format(DateTimeFormatter.ofPattern("HH:mm"));
+        otherNode.broadcast(ClusterCoordinator.TOPIC_SLOT, objectMapper.writeValueAsString(
+                new SlotEvent(SlotEvent.SLOT_TAKEN, "lele", at.toLocalDate(), slot)));
+
+        assertThat(scheduled()).isEqualTo(before + 1);
+    }
+
+    private double scheduled() {
+        return meterRegistry.get("silla.reminders.scheduled").gauge().value();
+    }
+}
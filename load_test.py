@@ -0,0 +1,106 @@
+import json
+import sys
+import threading
+import time
+import urllib.request
+import urllib.error
+from datetime import datetime, timedelta
+
+# Simple closed-loop load generator for comparing the backend thread modes.
+# Start the backend twice, once with SILLA_VIRTUAL_THREADS=true (Java 21) and
+# once without, and run this script against each:
+#
+#   python3 load_test.py [api_url] [clients] [seconds]
+#
+# All clients share one IP, so start the backend with
+# --silla.rate-limit.enabled=false or most writes will be answered with 429.
+
+API_URL = sys.argv[1] if len(sys.argv) > 1 else "http://localhost:8081/api"
+CLIENTS = int(sys.argv[2]) if len(sys.argv) > 2 else 200
+DURATION = int(sys.argv[3]) if len(sys.argv) > 3 else 30
+
+LOGIN_EMAIL = "loadtest@example.com"
+LOGIN_PASSWORD = "loadtest-password"
+
+
+def request(url, data=None, method=None):
+    req = urllib.request.Request(url, method=method)
+    body = None
+    if data is not None:
+        req.add_header('Content-Type', 'application/json')
+        body = json.dumps(data).encode()
+    try:
+        with urllib.request.urlopen(req, body, timeout=30) as response:
+            response.read()
+            return response.status
+    except urllib.error.HTTPError as e:
+        return e.code
+    except Exception:
+        return None
+
+
+def ensure_user():
+    request(f"{API_URL}/auth/register", {
+        "name": "Load", "surname": "Test", "email": LOGIN_EMAIL,
+        "password": LOGIN_PASSWORD, "phone": "0000000000"
+    })
+
+
+class Scenario:
+    def __init__(self, name, call):
+        self.name = name
+        self.call = call
+        self.latencies = []
+        self.errors = 0
+        self.lock = threading.Lock()
+
+    def record(self, elapsed, ok):
+        with self.lock:
+            if ok:
+                self.latencies.append(elapsed)
+            else:
+                self.errors += 1
+
+    def report(self):
+        lat = sorted(self.latencies)
+        if not lat:
+            print(f"{self.name:<24} no successful requests, {self.errors} errors")
+            return
+        pct = lambda p: lat[min(len(lat) - 1, int(len(lat) * p))] * 1000
+        print(f"{self.name:<24} {len(lat) / DURATION:8.1f} req/s  "
+              f"p50 {pct(0.50):7.1f} ms  p95 {pct(0.95):7.1f} ms  p99 {pct(0.99):7.1f} ms  "
+              f"errors {self.errors}")
+
+
+def worker(index, scenarios, deadline):
+    scenario = scenarios[index % len(scenarios)]
+    day = (datetime.now() + timedelta(days=30 + index % 28)).strftime('%Y-%m-%d')
+    while time.time() < deadline:
+        start = time.perf_counter()
+        status = scenario.call(index, day)
+        scenario.record(time.perf_counter() - start, status is not None and status < 500)
+
+
+if __name__ == "__main__":
+    print(f"Load testing {API_URL} with {CLIENTS} clients for {DURATION}s")
+    ensure_user()
+
+    scenarios = [
+        Scenario("GET /bookings/reserved",
+                 lambda i, day: request(f"{API_URL}/bookings/reserved?date={day}&barber=lele")),
+        Scenario("GET /bookings/page",
+                 lambda i, day: request(f"{API_URL}/bookings/page?limit=50")),
+        Scenario("POST /auth/login",
+                 lambda i, day: request(f"{API_URL}/auth/login",
+                                        {"email": LOGIN_EMAIL, "password": LOGIN_PASSWORD})),
+    ]
+
+    deadline = time.time() + DURATION
+    threads = [threading.Thread(target=worker, args=(i, scenarios, deadline)) for i in range(CLIENTS)]
+    for t in threads:
+        t.start()
+    for t in threads:
+        t.join()
+
+    for scenario in scenarios:
+        scenario.report()
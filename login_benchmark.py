@@ -0,0 +1,85 @@
+import json
+import os
+import sys
+import threading
+import time
+import urllib.request
+import urllib.error
+
+# Compares the two ways a customer proves who they are:
+#   - POST /auth/login   password check (DB lookup + BCrypt at silla.auth.bcrypt-strength)
+#   - GET  /auth/me      signed token check (one HMAC, no DB)
+# and prints requests/sec per server core. Run it on the same machine as the
+# backend (or pass the backend's core count), e.g. with the backend pinned to
+# one core via `taskset -c 0 java -jar ...`:
+#
+#   python3 login_benchmark.py [api_url] [clients] [seconds] [server_cores]
+#
+# Start the backend with --silla.rate-limit.enabled=false, otherwise the login
+# limits cut the password run short.
+
+API_URL = sys.argv[1] if len(sys.argv) > 1 else "http://localhost:8081/api"
+CLIENTS = int(sys.argv[2]) if len(sys.argv) > 2 else 16
+DURATION = int(sys.argv[3]) if len(sys.argv) > 3 else 20
+CORES = int(sys.argv[4]) if len(sys.argv) > 4 else os.cpu_count()
+
+EMAIL = "benchmark@example.com"
+PASSWORD = "benchmark-password"
+
+
+def call(url, data=None, token=None):
+    req = urllib.request.Request(url)
+    body = None
+    if data is not None:
+        req.add_header('Content-Type', 'application/json')
+        body = json.dumps(data).encode()
+    if token is not None:
+        req.add_header('Authorization', f"Bearer {token}")
+    try:
+        with urllib.request.urlopen(req, body, timeout=30) as response:
+            return response.status, response.read()
+    except urllib.error.HTTPError as e:
+        return e.code, e.read()
+    except Exception:
+        return None, None
+
+
+def run(name, request):
+    count = [0]
+    errors = [0]
+    lock = threading.Lock()
+    deadline = time.time() + DURATION
+
+    def worker():
+        while time.time() < deadline:
+            status, _ = request()
+            with lock:
+                if status == 200:
+                    count[0] += 1
+                else:
+                    errors[0] += 1
+
+    threads = [threading.Thread(target=worker) for _ in range(CLIENTS)]
+    for t in threads:
+        t.start()
+    for t in threads:
+        t.join()
+    rate = count[0] / DURATION
+    print(f"{name:<28} {rate:9.1f} req/s  {rate / CORES:9.1f} req/s/core  errors {errors[0]}")
+    return rate
+
+
+if __name__ == "__main__":
+    print(f"Login benchmark against {API_URL}: {CLIENTS} clients, {DURATION}s per run, {CORES} server core(s)")
+    call(f"{API_URL}/auth/register", {"name": "Bench", "surname": "Mark", "email": EMAIL,
+                                      "password": PASSWORD, "phone": "0000000000"})
+    status, body = call(f"{API_URL}/auth/login", {"email": EMAIL, "password": PASSWORD})
+    if status != 200:
+        sys.exit(f"login failed with {status}")
+    token = json.loads(body)["token"]
+
+    password = run("POST /auth/login (BCrypt)",
+                   lambda: call(f"{API_URL}/auth/login", {"email": EMAIL, "password": PASSWORD}))
+    bearer = run("GET /auth/me (token)", lambda: call(f"{API_URL}/auth/me", token=token))
+    if password:
+        print(f"token verification is {bearer / password:.0f}x the password login rate")
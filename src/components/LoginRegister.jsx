@@ -1,9 +1,9 @@
-import React, { useState } from 'react';
+import React, { useEffect, useState } from 'react';
 import { useTranslation } from 'react-i18next';
 import { API_BASE_URL } from '../config';
 
 const LoginRegister = ({ onLoginSuccess, showAlert }) => {
-    const { t } = useTranslation();
+    const { t, i18n } = useTranslation();
     const [isLogin, setIsLogin] = useState(true);
 
     const [formData, setFormData] = useState({
@@ -16,6 +16,27 @@ const LoginRegister = ({ onLoginSuccess, showAlert }) => {
     const [error, setError] = useState('');
     const [loggedInUser, setLoggedInUser] = useState(null);
 
+    // Restore the session from the stored token without sending the password again
+    useEffect(() => {
+        const token = localStorage.getItem('silla_user_token');
+        if (!token) return;
+        fetch(`${API_BASE_URL}/auth/me`, { headers: { 'Authorization': `Bearer ${token}` } })
+            .then(res => {
+                if (!res.ok) {
+                    localStorage.removeItem('silla_user_token');
+                    return null;
+                }
+                return res.json();
+            })
+            .then(data => {
+                if (data) {
+                    setLoggedInUser(data);
+                    onLoginSuccess(data);
+                }
+            })
+            .catch(err => console.error("Error restoring session:", err));
+    }, []);
+
     const handleChange = (e) => {
         setFormData({ ...formData, [e.target.name]: e.target.value });
     };
@@ -30,12 +51,13 @@ const LoginRegister = ({ onLoginSuccess, showAlert }) => {
             const response = await fetch(url, {
                 method: 'POST',
                 headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(formData)
+                body: JSON.stringify(isLogin ? formData : { ...formData, locale: i18n.language })
             });
 
             const data = await response.json();
 
             if (response.ok) {
+                localStorage.setItem('silla_user_token', data.token);
                 setLoggedInUser(data);
                 onLoginSuccess(data);
             } else {
@@ -65,7 +87,8 @@ const LoginRegister = ({ onLoginSuccess, showAlert }) => {
     const executeDelete = async () => {
         try {
             const response = await fetch(`${API_BASE_URL}/auth/${loggedInUser.id}`, {
-                method: 'DELETE'
+                method: 'DELETE',
+                headers: { 'Authorization': `Bearer ${loggedInUser.token}` }
             });
 
             if (response.ok) {
@@ -74,6 +97,7 @@ const LoginRegister = ({ onLoginSuccess, showAlert }) => {
                 } else {
                     alert(t('auth.delete_success'));
                 }
+                localStorage.removeItem('silla_user_token');
                 setLoggedInUser(null);
                 setIsLogin(true);
                 setFormData({ name: '', surname: '', email: '', password: '', phone: '' });
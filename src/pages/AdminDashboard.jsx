@@ -16,12 +16,12 @@ const AdminDashboard = () => {
         name: '',
         surname: '',
         email: '',
-        phone: '',
-        price: 0
+        phone: ''
     });
     const [reservedTimes, setReservedTimes] = useState([]);
     const [stats, setStats] = useState({});
     const [barbers, setBarbers] = useState([]); // Dynamic barbers state
+    const [services, setServices] = useState([]); // Service catalog from the server
 
     // New State for Day Off Management
     const [daysOff, setDaysOff] = useState([]);
@@ -45,12 +45,6 @@ const AdminDashboard = () => {
         "14:00", "14:30", "15:00", "15:30", "16:00", "16:30", "17:00", "17:30", "18:00", "18:30", "19:00"
     ];
 
-    const services = [
-        { id: 'cut', name: 'Taglio Uomo', price: 30 },
-        { id: 'beard', name: 'Rasatura Barba', price: 20 },
-        { id: 'combo', name: 'Taglio + Barba', price: 45 },
-        { id: 'kid', name: 'Taglio Bambino', price: 25 },
-    ];
 
     const sortBookings = (data) => {
         return [...data].sort((a, b) => {
@@ -72,31 +66,24 @@ const AdminDashboard = () => {
             }
 
             const barberBookings = bookingsForDate.filter(b => b.barber === barber.id);
-            const bookedTimes = barberBookings.map(b => b.time);
+            // A booking holds every 30-minute slot its service spans
+            const bookedTimes = barberBookings.flatMap(b => {
+                const index = timeSlots.indexOf(b.time?.slice(0, 5));
+                const slots = Math.max(1, Math.ceil((b.durationMinutes || 30) / 30));
+                return index < 0 ? [b.time] : timeSlots.slice(index, index + slots);
+            });
             const freeSlots = timeSlots.filter(time => !bookedTimes.includes(time));
             return { ...barber, freeSlots, isDayOff: false };
         });
     };
 
     useEffect(() => {
-        const isAuth = localStorage.getItem('silla_admin_auth');
+        const isAuth = localStorage.getItem('silla_admin_token');
         if (!isAuth) {
             navigate('/admin');
             return;
         }
 
-        // Fetch Bookings with Polling
-        const fetchBookings = () => {
-            fetch(`${API_BASE_URL}/bookings`)
-                .then(res => res.json())
-                .then(data => {
-                    const sortedData = sortBookings(data);
-                    setBookings(sortedData);
-                    // calculateStats(sortedData); // Removed
-                })
-                .catch(err => console.error("Error fetching bookings:", err));
-        };
-
         // Fetch Barbers
         const fetchBarbers = () => {
             fetch(`${API_BASE_URL}/barbers`)
@@ -112,6 +99,18 @@ const AdminDashboard = () => {
                 .catch(err => console.error("Error fetching barbers:", err));
         };
 
+        // Fetch Services
+        const fetchServices = () => {
+            fetch(`${API_BASE_URL}/services`)
+                .then(res => res.json())
+                .then(data => {
+                    if (Array.isArray(data)) {
+                        setServices(data);
+                    }
+                })
+                .catch(err => console.error("Error fetching services:", err));
+        };
+
         // Fetch Days Off
         const fetchDaysOff = () => {
             fetch(`${API_BASE_URL}/dayoffs`)
@@ -124,18 +123,52 @@ const AdminDashboard = () => {
                 .catch(err => console.error("Error fetching days off:", err));
         };
 
-        fetchBookings(); // Initial fetch
         fetchBarbers(); // Initial fetch
         fetchDaysOff(); // Initial fetch
+        fetchServices(); // Initial fetch
 
         const interval = setInterval(() => {
-            fetchBookings();
-            fetchDaysOff(); // Also poll days off
+            fetchDaysOff(); // Poll days off
         }, 5000); // Poll every 5 seconds
 
         return () => clearInterval(interval); // Cleanup
     }, [navigate]);
 
+    // Bookings of the selected day, page by page, with polling
+    useEffect(() => {
+        if (!localStorage.getItem('silla_admin_token')) return;
+        let cancelled = false;
+
+        const fetchBookings = async () => {
+            try {
+                const items = [];
+                let cursor = null;
+                do {
+                    const params = new URLSearchParams({ from: selectedDate, to: selectedDate, limit: '200' });
+                    if (cursor) params.set('cursor', cursor);
+                    const res = await fetch(`${API_BASE_URL}/bookings/page?${params}`, {
+                        headers: { 'Authorization': `Bearer ${localStorage.getItem('silla_admin_token')}` }
+                    });
+                    if (!res.ok) throw new Error(`HTTP ${res.status}`);
+                    const page = await res.json();
+                    items.push(...page.items);
+                    cursor = page.nextCursor;
+                } while (cursor);
+                if (!cancelled) setBookings(sortBookings(items));
+            } catch (err) {
+                console.error("Error fetching bookings:", err);
+            }
+        };
+
+        fetchBookings(); // Initial fetch
+        const interval = setInterval(fetchBookings, 5000); // Poll every 5 seconds
+
+        return () => {
+            cancelled = true;
+            clearInterval(interval);
+        };
+    }, [selectedDate]);
+
     useEffect(() => {
         if (manualForm.date && manualForm.barber) {
             const fetchReserved = async () => {
@@ -164,61 +197,43 @@ const AdminDashboard = () => {
     }, [manualForm.date, manualForm.barber]);
 
     useEffect(() => {
-        if (!barbers.length || !bookings.length) return;
+        if (activeTab !== 'stats') return;
 
+        // Revenue per barber for today, this week (Monday-Sunday) and this month, from the server rollups
+        const isoDate = (d) => `${d.getFullYear()}-${String(d.getMonth() + 1).padStart(2, '0')}-${String(d.getDate()).padStart(2, '0')}`;
         const now = new Date();
-        const startOfDay = new Date(now.getFullYear(), now.getMonth(), now.getDate()).getTime();
-
-        // Start of Week (Monday)
-        const currentDay = now.getDay(); // 0=Sunday, 1=Monday...
-        const distanceToMonday = currentDay === 0 ? 6 : currentDay - 1;
-        const startOfWeek = new Date(now.getFullYear(), now.getMonth(), now.getDate() - distanceToMonday).getTime();
-
-        // Start of Month
-        const startOfMonth = new Date(now.getFullYear(), now.getMonth(), 1).getTime();
-
-        const newStats = {};
-
-        // Initialize stats for each barber (using lowercase ID for matching)
-        barbers.forEach(barber => {
-            newStats[barber.id] = { daily: 0, weekly: 0, monthly: 0 };
-        });
-
-        bookings.forEach(booking => {
-            if (!booking.date || !booking.price) return;
-
-            // Robust Date Parsing: Convert UTC string (YYYY-MM-DD) to Local Midnight
-            const dateParts = booking.date.split('-');
-            const year = parseInt(dateParts[0]);
-            const month = parseInt(dateParts[1]) - 1; // Months are 0-indexed
-            const day = parseInt(dateParts[2]);
-
-            const bookingDateLocal = new Date(year, month, day).getTime();
-            const price = parseFloat(booking.price);
-
-            // Normalize Barber ID comparison
-            let barberId = booking.barber;
-            // If the exact ID isn't found, try lowercase
-            if (!newStats[barberId] && typeof barberId === 'string') {
-                const lowerId = barberId.toLowerCase();
-                // Check if any barber has this ID in lowercase (handling potential casing mismatch)
-                const matchedBarber = barbers.find(b => b.id.toLowerCase() === lowerId);
-                if (matchedBarber) {
-                    barberId = matchedBarber.id;
-                }
-            }
+        const distanceToMonday = now.getDay() === 0 ? 6 : now.getDay() - 1;
+        const ranges = {
+            daily: [now, now],
+            weekly: [new Date(now.getFullYear(), now.getMonth(), now.getDate() - distanceToMonday),
+                new Date(now.getFullYear(), now.getMonth(), now.getDate() - distanceToMonday + 6)],
+            monthly: [new Date(now.getFullYear(), now.getMonth(), 1), new Date(now.getFullYear(), now.getMonth() + 1, 0)]
+        };
 
-            if (newStats[barberId]) {
-                if (bookingDateLocal >= startOfDay) newStats[barberId].daily += price;
-                if (bookingDateLocal >= startOfWeek) newStats[barberId].weekly += price;
-                if (bookingDateLocal >= startOfMonth) newStats[barberId].monthly += price;
-            }
-        });
-        setStats(newStats);
-    }, [bookings, barbers]);
+        Promise.all(Object.entries(ranges).map(([name, [from, to]]) =>
+            fetch(`${API_BASE_URL}/analytics?from=${isoDate(from)}&to=${isoDate(to)}`, {
+                headers: { 'Authorization': `Bearer ${localStorage.getItem('silla_admin_token')}` }
+            })
+                .then(res => res.json())
+                .then(report => [name, report])
+        ))
+            .then(reports => {
+                const newStats = {};
+                reports.forEach(([name, report]) => {
+                    (report.barbers || []).forEach(barber => {
+                        newStats[barber.key] = newStats[barber.key] || {};
+                        newStats[barber.key][name] = barber.revenue;
+                        if (name === 'monthly') newStats[barber.key].utilization = barber.utilization;
+                    });
+                });
+                setStats(newStats);
+            })
+            .catch(err => console.error("Error fetching analytics:", err));
+    }, [activeTab, bookings.length]);
 
     const handleLogout = () => {
         localStorage.removeItem('silla_admin_auth');
+        localStorage.removeItem('silla_admin_token');
         navigate('/admin');
     };
 
@@ -245,8 +260,8 @@ const AdminDashboard = () => {
     const handleManualSubmit = async (e) => {
         e.preventDefault();
         try {
-            const serviceObj = services.find(s => s.id === manualForm.service);
-            const bookingPayload = { ...manualForm, price: serviceObj ? serviceObj.price : 0 };
+            // The server prices the booking from the service catalog
+            const bookingPayload = { ...manualForm };
 
             const response = await fetch(`${API_BASE_URL}/bookings`, {
                 method: 'POST',
@@ -261,8 +276,10 @@ const AdminDashboard = () => {
 
                 setBookings(updatedBookings);
                 // calculateStats(updatedBookings); // Removed
-                setManualForm({ barber: '', service: '', date: '', time: '', name: '', surname: '', email: '', phone: '', price: 0 });
+                setManualForm({ barber: '', service: '', date: '', time: '', name: '', surname: '', email: '', phone: '' });
                 setActiveTab('bookings');
+            } else if (response.status === 409) {
+                alert('Orario già prenotato per questo barbiere');
             } else {
                 alert('Errore inserimento');
             }
@@ -279,7 +296,7 @@ const AdminDashboard = () => {
         }
 
         try {
-            const response = await fetch(`${API_BASE_URL}/dayoffs`, {
+            const response = await fetch(`${API_BASE_URL}/dayoffs/range`, {
                 method: 'POST',
                 headers: { 'Content-Type': 'application/json' },
                 body: JSON.stringify(dayOffForm)
@@ -321,7 +338,10 @@ const AdminDashboard = () => {
         try {
             const response = await fetch(`${API_BASE_URL}/barbers`, {
                 method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
+                headers: {
+                    'Content-Type': 'application/json',
+                    'Authorization': `Bearer ${localStorage.getItem('silla_admin_token')}`
+                },
                 body: JSON.stringify(newBarberForm)
             });
 
@@ -344,6 +364,7 @@ const AdminDashboard = () => {
             try {
                 const response = await fetch(`${API_BASE_URL}/barbers/${id}`, {
                     method: 'DELETE',
+                    headers: { 'Authorization': `Bearer ${localStorage.getItem('silla_admin_token')}` }
                 });
 
                 if (response.ok) {
@@ -365,7 +386,7 @@ const AdminDashboard = () => {
 
     const getServiceName = (id) => {
         const service = services.find(s => s.id === id);
-        return service ? service.name : id;
+        return service ? service.nameIt : id;
     };
 
     return (
@@ -615,10 +636,14 @@ const AdminDashboard = () => {
                                         <span className="text-gray-600">Settimana:</span>
                                         <span className="font-bold text-green-600">€{stats[barber.id]?.weekly || 0}</span>
                                     </div>
-                                    <div className="flex justify-between">
+                                    <div className="flex justify-between border-b pb-2">
                                         <span className="text-gray-600">Mese:</span>
                                         <span className="font-bold text-green-600">€{stats[barber.id]?.monthly || 0}</span>
                                     </div>
+                                    <div className="flex justify-between">
+                                        <span className="text-gray-600">Occupazione (mese):</span>
+                                        <span className="font-bold text-gray-900">{stats[barber.id]?.utilization != null ? `${Math.round(stats[barber.id].utilization * 100)}%` : '-'}</span>
+                                    </div>
                                 </div>
                             </div>
                         ))}
@@ -636,7 +661,7 @@ const AdminDashboard = () => {
                                 </select>
                                 <select required className="p-2 border rounded" onChange={e => setManualForm({ ...manualForm, service: e.target.value })}>
                                     <option value="">Seleziona Servizio</option>
-                                    {services.map(s => <option key={s.id} value={s.id}>{s.name} (€{s.price})</option>)}
+                                    {services.map(s => <option key={s.id} value={s.id}>{s.nameIt} - {s.durationMinutes} min (€{s.price})</option>)}
                                 </select>
                             </div>
                             <div className="grid grid-cols-1 sm:grid-cols-2 gap-4">
@@ -693,7 +718,7 @@ const AdminDashboard = () => {
                                         <label className="text-sm text-gray-600 mb-1">Foto Profilo</label>
                                         <input
                                             type="file"
-                                            accept="image/*"
+                                            accept="image/jpeg,image/png,image/webp"
                                             required
                                             className="p-2 border rounded-lg bg-white"
                                             onChange={(e) => {
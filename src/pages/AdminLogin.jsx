@@ -18,10 +18,11 @@ const AdminLogin = () => {
                 body: JSON.stringify({ email, password })
             });
 
-            const isValid = await response.json();
+            const data = await response.json();
 
-            if (isValid) {
+            if (response.ok && data.token) {
                 localStorage.setItem('silla_admin_auth', 'true');
+                localStorage.setItem('silla_admin_token', data.token);
                 navigate('/admin/dashboard');
             } else {
                 setError('Credenziali non valide');
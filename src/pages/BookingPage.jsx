@@ -7,7 +7,7 @@ import CustomAlert from '../components/CustomAlert';
 import { API_BASE_URL } from '../config';
 
 const BookingPage = () => {
-    const { t } = useTranslation();
+    const { t, i18n } = useTranslation();
     const pageRef = useRef(null);
     const [step, setStep] = useState(1); // 1: Barber, 2: Date/Time, 3: Details, 4: Success
     const [bookingData, setBookingData] = useState({
@@ -24,6 +24,7 @@ const BookingPage = () => {
     const [reservedTimes, setReservedTimes] = useState([]);
     const [dayOffs, setDayOffs] = useState([]);
     const [barbers, setBarbers] = useState([]); // Dynamic Barbers
+    const [services, setServices] = useState([]); // Catalog: names, duration, price, barbers
 
     // Custom Alert State
     const [alertState, setAlertState] = useState({
@@ -49,6 +50,15 @@ const BookingPage = () => {
             .then(data => setBarbers(data))
             .catch(err => console.error("Error fetching barbers:", err));
 
+        fetch(`${API_BASE_URL}/services`)
+            .then(res => res.json())
+            .then(data => {
+                if (Array.isArray(data)) {
+                    setServices(data);
+                }
+            })
+            .catch(err => console.error("Error fetching services:", err));
+
         // Fetch Day Offs to filter barbers
         fetch(`${API_BASE_URL}/dayoffs`)
             .then(res => res.json())
@@ -60,18 +70,21 @@ const BookingPage = () => {
             .catch(err => console.error("Error fetching day offs:", err));
     }, []);
 
-    const services = [
-        { id: 'cut', name: 'booking.services.cut', price: 30 },
-        { id: 'beard', name: 'booking.services.beard', price: 20 },
-        { id: 'combo', name: 'booking.services.combo', price: 45 },
-        { id: 'kid', name: 'booking.services.kid', price: 25 },
-    ];
-
     const timeSlots = [
         "09:30", "10:00", "10:30", "11:00", "11:30", "12:00", "12:30", "13:00", "13:30",
         "14:00", "14:30", "15:00", "15:30", "16:00", "16:30", "17:00", "17:30", "18:00", "18:30", "19:00"
     ];
 
+    const serviceName = (service) => service ? (i18n.language.startsWith('en') ? service.nameEn : service.nameIt) : '';
+    const selectedService = services.find(s => s.id === bookingData.service);
+    const offersService = (barberId) => !selectedService || selectedService.barberIds.length === 0
+        || selectedService.barberIds.includes(barberId);
+
+    // A start is free when every 30-minute slot the service spans is free and it ends by closing time
+    const slotsNeeded = Math.max(1, Math.ceil((selectedService?.durationMinutes || 30) / 30));
+    const isUnavailable = (index) => index + slotsNeeded > timeSlots.length
+        || timeSlots.slice(index, index + slotsNeeded).some(time => reservedTimes.includes(time));
+
     useLayoutEffect(() => {
         let ctx = gsap.context(() => {
             gsap.fromTo(pageRef.current.children,
@@ -92,16 +105,40 @@ const BookingPage = () => {
     }, [location.state]);
 
     useEffect(() => {
-        if (bookingData.date && bookingData.barber) {
-            fetch(`${API_BASE_URL}/bookings/reserved?date=${bookingData.date}&barber=${bookingData.barber}`)
-                .then(res => res.json())
-                .then(data => {
-                    setReservedTimes(data.map(b => b.time));
-                })
-                .catch(err => console.error("Error fetching reserved slots:", err));
-        } else {
+        if (!bookingData.date || !bookingData.barber) {
             setReservedTimes([]);
+            return;
+        }
+        const query = `date=${bookingData.date}&barber=${bookingData.barber}`;
+        const fetchReserved = () => fetch(`${API_BASE_URL}/bookings/reserved?${query}`)
+            .then(res => res.json())
+            .then(data => {
+                setReservedTimes(data.map(b => b.time));
+            })
+            .catch(err => console.error("Error fetching reserved slots:", err));
+
+        if (typeof EventSource === 'undefined') {
+            fetchReserved();
+            return;
         }
+
+        // Live updates: the server sends a snapshot first, then every change for this barber and day
+        const source = new EventSource(`${API_BASE_URL}/bookings/events?${query}`);
+        source.addEventListener('snapshot', e => {
+            const data = JSON.parse(e.data);
+            setReservedTimes(data.dayOff ? timeSlots : data.reserved);
+        });
+        source.addEventListener('slot-taken', e => {
+            const { time } = JSON.parse(e.data);
+            setReservedTimes(prev => prev.includes(time) ? prev : [...prev, time]);
+        });
+        source.addEventListener('slot-freed', e => {
+            const { time } = JSON.parse(e.data);
+            setReservedTimes(prev => prev.filter(t => t !== time));
+        });
+        source.addEventListener('day-off-added', () => setReservedTimes(timeSlots));
+        source.addEventListener('day-off-removed', fetchReserved);
+        return () => source.close();
     }, [bookingData.date, bookingData.barber]);
 
     const handleBarberSelect = (barberId) => {
@@ -126,9 +163,10 @@ const BookingPage = () => {
     const handleSubmit = async (e) => {
         e.preventDefault();
 
+        // Price and duration are set by the server from the service catalog
         const newBooking = {
             ...bookingData,
-            price: services.find(s => s.id === bookingData.service)?.price || 0
+            locale: i18n.language
         };
 
         try {
@@ -143,6 +181,10 @@ const BookingPage = () => {
             if (response.ok) {
                 console.log("Booking Saved to Backend");
                 setStep(5);
+            } else if (response.status === 409) {
+                setReservedTimes(prev => [...prev, bookingData.time]);
+                showAlert(t('common.error'), t('booking.slot_taken'), 'error');
+                setStep(3);
             } else {
                 console.error("Failed to save booking");
                 showAlert(t('common.error'), t('booking.save_error'), 'error');
@@ -218,7 +260,7 @@ const BookingPage = () => {
                                     <option value="" disabled>{t('booking.choose_service')}</option>
                                     {services.map(s => (
                                         <option key={s.id} value={s.id}>
-                                            {t(s.name)} - €{s.price}
+                                            {serviceName(s)} ({s.durationMinutes} min) - €{s.price}
                                         </option>
                                     ))}
                                 </select>
@@ -252,6 +294,7 @@ const BookingPage = () => {
 
                                 {barbers
                                     .filter(b => !dayOffs.some(d => d.barberId === b.id && d.date === bookingData.date)) // Filter out barbers on holiday
+                                    .filter(b => offersService(b.id))
                                     .map(barber => (
                                         <div
                                             key={barber.id}
@@ -289,8 +332,8 @@ const BookingPage = () => {
 
                             <div>
                                 <div className="grid grid-cols-4 sm:grid-cols-5 gap-3">
-                                    {timeSlots.map(time => {
-                                        const isReserved = reservedTimes.includes(time);
+                                    {timeSlots.map((time, index) => {
+                                        const isReserved = isUnavailable(index);
                                         return (
                                             <button
                                                 key={time}
@@ -307,7 +350,7 @@ const BookingPage = () => {
                                         );
                                     })}
                                 </div>
-                                {timeSlots.every(t => reservedTimes.includes(t)) && (
+                                {timeSlots.every((time, index) => isUnavailable(index)) && (
                                     <p className="text-red-500 text-sm mt-2 font-bold text-center">
                                         {t('booking.fully_booked')}
                                     </p>
@@ -326,7 +369,7 @@ const BookingPage = () => {
                             <div className="mb-6 text-center">
                                 <h2 className="text-xl font-bold text-gray-800">{t('booking.your_details')}</h2>
                                 <p className="text-sm text-gray-500">
-                                    {t('booking.chosen_summary')} {getBarberName(bookingData.barber)} | {bookingData.date} @ {bookingData.time} | {t(services.find(s => s.id === bookingData.service)?.name)}
+                                    {t('booking.chosen_summary')} {getBarberName(bookingData.barber)} | {bookingData.date} @ {bookingData.time} | {serviceName(selectedService)}
                                 </p>
                             </div>
 